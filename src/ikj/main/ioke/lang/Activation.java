@@ -0,0 +1,159 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+import ioke.lang.exceptions.ControlFlow;
+
+/**
+ * The data of the Locals object created for an activation of a method, macro
+ * or syntax. It remembers what was activated and how, so that the "@@" and
+ * "super" cells of every activation can share the same native methods
+ * instead of each activation creating its own.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class Activation extends IokeData {
+    /*
+     * return, break and continue sent directly from the body of an
+     * activation - or from a branch of if or unless, or the body of a loop,
+     * that was itself sent directly from there - don't have to throw. The
+     * chain evaluating them records which message it's sending and which
+     * signals it can take, and the flow control method sets the signal and
+     * returns. Every chain on the way out then stops, until the signal
+     * reaches the loop or activation that handles it. Everything else still
+     * throws ControlFlow.
+     */
+    static final int RETURN = 1;
+    static final int BREAK = 2;
+    static final int CONTINUE = 4;
+
+    final IokeObject code;
+    final IokeObject context;
+    final IokeObject message;
+    final Object on;
+
+    IokeObject site;
+    int accepts;
+    int signal;
+
+    Activation(IokeObject code, IokeObject context, IokeObject message, Object on) {
+        this.code = code;
+        this.context = context;
+        this.message = message;
+        this.on = on;
+    }
+
+    /**
+     * Finds the activation that a shared native method found with the
+     * given name belongs to. That is the activation whose Locals the cell
+     * is found on when looking it up from the receiver - so a block
+     * refers to the activation it was created in, wherever it's called
+     * from. If the cell was found somewhere else, the surrounding contexts
+     * of the receiver are searched instead.
+     */
+    static Activation find(Object on, String name) {
+        if(!(on instanceof IokeObject)) {
+            return null;
+        }
+
+        Object place = IokeObject.findPlace(on, name);
+        if((place instanceof IokeObject) && (((IokeObject)place).data instanceof Activation)) {
+            return (Activation)((IokeObject)place).data;
+        }
+
+        Object current = on;
+        while(current instanceof IokeObject) {
+            IokeData data = ((IokeObject)current).data;
+            if(data instanceof Activation) {
+                return (Activation)data;
+            } else if(data instanceof LexicalContext) {
+                current = ((LexicalContext)data).surroundingContext;
+            } else {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the Locals object of the activation the given context belongs
+     * to, or null if it isn't inside of an activation.
+     */
+    static IokeObject frameOf(IokeObject context) {
+        IokeObject ctx = context;
+        while(ctx.data instanceof LexicalContext) {
+            ctx = ((LexicalContext)ctx.data).surroundingContext;
+        }
+        return (ctx.data instanceof Activation) ? ctx : null;
+    }
+
+    /**
+     * Returns the signals the flow control message can hand back instead of
+     * throwing, or 0 if it wasn't sent directly by a chain that checks for
+     * them. This has to be called before any arguments are evaluated.
+     */
+    static int accepted(IokeObject frame, IokeObject message) {
+        if(frame != null) {
+            Activation activation = (Activation)frame.data;
+            if(activation.site == message) {
+                activation.site = null;
+                return activation.accepts;
+            }
+        }
+        return 0;
+    }
+
+    public static void init(final Runtime runtime) throws ControlFlow {
+        runtime.currentCode = runtime.newNativeMethod("will return the currently executing method, macro or syntax", new NativeMethod.WithNoArguments("@@") {
+                @Override
+                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    getArguments().evaluateNoArguments(context, message, on);
+                    Activation activation = find(on, "@@");
+                    if(activation == null) {
+                        return Interpreter.signalNoSuchCell(message, context, on, "@@", context.runtime.nul, IokeObject.as(on, context));
+                    }
+                    return activation.code;
+                }
+            });
+
+        runtime.superCall = runtime.newNativeMethod("will call the super method of the current message on the same receiver", new NativeMethod("super") {
+                private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
+                    .builder()
+                    .withRestUnevaluated("arguments")
+                    .getArguments();
+
+                @Override
+                public DefaultArgumentsDefinition getArguments() {
+                    return ARGUMENTS;
+                }
+
+                @Override
+                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    Activation activation = find(on, "super");
+                    if(activation == null) {
+                        return Interpreter.signalNoSuchCell(message, context, on, "super", context.runtime.nul, IokeObject.as(on, context));
+                    }
+
+                    String name = ((Method)activation.code.data).name;
+                    Object superCell = context.runtime.nul;
+                    if(name != null) {
+                        superCell = IokeObject.findSuperCellOn(activation.on, activation.code, activation.context, name);
+                    }
+                    if(superCell == context.runtime.nul) {
+                        superCell = IokeObject.findSuperCellOn(activation.on, activation.code, activation.context, Message.name(activation.message));
+                    }
+
+                    if(superCell != context.runtime.nul) {
+                        if(IokeObject.data(superCell) instanceof Method) {
+                            return Interpreter.activate(((IokeObject)superCell), context, message, activation.on);
+                        } else {
+                            return superCell;
+                        }
+                    } else {
+                        return Interpreter.signalNoSuchCell(message, context, activation.on, name, superCell, activation.code);
+                    }
+                }
+            });
+    }
+}// Activation
@@ -37,11 +37,9 @@ public class Base {
                         toVisit.addAll(current.getMimics());
                     }
                     
-                    Body.Cell c = current.body.firstAdded;
-                    while(c != null) {
-                        String s = c.name;
+                    for(String s : current.body.names()) {
                         if(!undefined.contains(s)) {
-                            if(c.value == runtime.nul) {
+                            if(current.body.get(s) == runtime.nul) {
                                 undefined.add(s);
                             } else {
                                 Object x = runtime.getSymbol(s);
@@ -51,8 +49,6 @@ public class Base {
                                 }
                             }
                         }
-
-                        c = c.orderedNext;
                     }
                 }
             }
@@ -63,13 +59,11 @@ public class Base {
             List<Object> names = new ArrayList<Object>();
             Runtime runtime = context.runtime;
 
-            Body.Cell c = IokeObject.as(on, context).body.firstAdded;
-            while(c != null) {
-                String s = c.name;
-                if(c.value != runtime.nul) {
+            Body body = IokeObject.as(on, context).body;
+            for(String s : body.names()) {
+                if(body.get(s) != runtime.nul) {
                     names.add(runtime.getSymbol(s));
                 }
-                c = c.orderedNext;
             }
 
             return runtime.newList(names);
@@ -93,11 +87,9 @@ public class Base {
                     visited.put(current, null);
                     toVisit.addAll(current.getMimics());
 
-                    Body.Cell c = current.body.firstAdded;
-                    while(c != null) {
-                        String s = c.name;
+                    for(String s : current.body.names()) {
                         if(!undefined.contains(s)) {
-                            Object val = c.value;
+                            Object val = current.body.get(s);
                             if(val == runtime.nul) {
                                 undefined.add(s);
                             } else {
@@ -107,18 +99,16 @@ public class Base {
                                 }
                             }
                         }
-                        c = c.orderedNext;
                     }
                 }
             }
         } else {
-            Body.Cell c = IokeObject.as(on, context).body.firstAdded;
-            while(c != null) {
-                String s = c.name;
-                if(c.value != runtime.nul) {
-                    cells.put(runtime.getSymbol(s), c.value);
+            Body body = IokeObject.as(on, context).body;
+            for(String s : body.names()) {
+                Object val = body.get(s);
+                if(val != runtime.nul) {
+                    cells.put(runtime.getSymbol(s), val);
                 }
-                c = c.orderedNext;
             }
         }
         return runtime.newDict(cells);
@@ -164,7 +154,7 @@ public class Base {
         base.registerMethod(base.runtime.newNativeMethod("returns the documentation text of the object called on. anything can have a documentation text - this text will initially be nil.", new NativeMethod.WithNoArguments("documentation") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return documentation(context, message, on);
                 }
             }));
@@ -172,7 +162,7 @@ public class Base {
         base.registerMethod(base.runtime.newNativeMethod("returns a boolean indicating of this object should be activated or not.", new NativeMethod.WithNoArguments("activatable") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return IokeObject.as(on, context).isActivatable() ? context.runtime._true : context.runtime._false;
                 }
             }));
@@ -198,7 +188,7 @@ public class Base {
         base.registerMethod(base.runtime.newNativeMethod("returns this object", new NativeMethod.WithNoArguments("identity") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return on;
                 }
             }));
@@ -565,10 +555,13 @@ public class Base {
         base.registerMethod(base.runtime.newNativeMethod("returns a hash for the object", new NativeMethod.WithNoArguments("hash") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newNumber(System.identityHashCode(IokeObject.as(on, context).body));
                 }
             }));
+
+        base.runtime.baseEquals = (IokeObject)base.body.get("==");
+        base.runtime.baseHash = (IokeObject)base.body.get("hash");
     }
 }// Base
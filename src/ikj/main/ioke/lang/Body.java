@@ -27,17 +27,123 @@ public final class Body {
     // zeroed by jvm
     int flags;
 
+    // bumped every time a cell or the mimics of this body changes
+    int version;
+
+    // the generations of the runtime, set when this body is first
+    // mimicked. inline caches are only valid for one generation.
+    Generations generations;
+
+    final void changed() {
+        version++;
+        if((flags & IokeObject.MIMICKED_F) != 0) {
+            generations.changedAll();
+        }
+    }
+
+    private void changed(String name) {
+        version++;
+        if((flags & IokeObject.MIMICKED_F) != 0) {
+            generations.changed(name);
+        }
+    }
+
+    /**
+     * Set the system property ioke.shapes to false to give every body
+     * its own hash table, instead of sharing Shapes.
+     */
+    static final boolean USE_SHAPES = !"false".equals(System.getProperty("ioke.shapes"));
+
+    // null when this body uses its own hash table
+    Shape shape = USE_SHAPES ? Shape.EMPTY : null;
+    private Object[] values;
+
+    /**
+     * Gives a new body all of its cells at once. values can be longer
+     * than the shape, to leave room for more cells.
+     */
+    final void initCells(Shape shape, Object[] values) {
+        this.shape = shape;
+        this.values = values;
+        changed();
+    }
 
     public final void put(String name, Object value) {
+        if(shape != null) {
+            int hash = name.hashCode();
+            int ix = shape.indexOf(name, hash);
+            if(ix != -1) {
+                if(values[ix] != value) {
+                    values[ix] = value;
+                    changed(name);
+                }
+                return;
+            }
+
+            Shape next = shape.withCell(name, hash);
+            if(next != null) {
+                int size = shape.size();
+                if(values == null) {
+                    values = new Object[INITIAL_CELL_SIZE];
+                } else if(values.length == size) {
+                    Object[] newValues = new Object[size * 2];
+                    System.arraycopy(values, 0, newValues, 0, size);
+                    values = newValues;
+                }
+                values[size] = value;
+                shape = next;
+                changed(name);
+                return;
+            }
+
+            convertToTable();
+        }
+
         Cell cell = getCell(name, false);
-        cell.value = value;
+        if(cell.value != value) {
+            cell.value = value;
+            changed(name);
+        }
+    }
+
+    /**
+     * Sets the cell the same way as put, but starts by looking in the
+     * given slot. Returns the slot the cell ended up in, or -1 if it
+     * doesn't have one, so that code setting the same cell over and over
+     * again can skip the lookup the next time around.
+     */
+    final int put(int slot, String name, Object value) {
+        if(slot >= 0 && shape != null && slot < shape.size() && shape.names[slot] == name) {
+            if(values[slot] != value) {
+                values[slot] = value;
+                changed(name);
+            }
+            return slot;
+        }
+
+        put(name, value);
+        if(shape != null) {
+            return shape.indexOf(name, name.hashCode());
+        }
+        return -1;
     }
 
     public final boolean has(String name) {
+        if(shape != null) {
+            return shape.indexOf(name, name.hashCode()) != -1;
+        }
         return null != getCell(name, true);
     }
 
     public final Object get(String name) {
+        if(shape != null) {
+            int ix = shape.indexOf(name, name.hashCode());
+            if(ix == -1) {
+                return null;
+            }
+            return values[ix];
+        }
+
         Cell cell = getCell(name, true);
         if(cell == null) {
             return cell;
@@ -45,7 +151,59 @@ public final class Body {
         return cell.value;
     }
 
+    /**
+     * Returns the names of all cells in this body, in the order they were added.
+     */
+    public final String[] names() {
+        if(shape != null) {
+            String[] result = new String[shape.size()];
+            System.arraycopy(shape.names, 0, result, 0, result.length);
+            return result;
+        }
+
+        String[] result = new String[count];
+        int i = 0;
+        for(Cell c = firstAdded; c != null; c = c.orderedNext) {
+            result[i++] = c.name;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if this body has no cells of its own.
+     */
+    final boolean isEmpty() {
+        return shape != null ? shape.size() == 0 : count == 0;
+    }
+
     public Object remove(String name) {
+        if(shape != null) {
+            int ix = shape.indexOf(name, name.hashCode());
+            if(ix == -1) {
+                return null;
+            }
+
+            Object value = values[ix];
+            Shape newShape = Shape.EMPTY;
+            String[] names = shape.names;
+            for(int i = 0, j = names.length; i < j && newShape != null; i++) {
+                if(i != ix) {
+                    newShape = newShape.withCell(names[i], shape.hashes[i]);
+                }
+            }
+
+            if(newShape != null) {
+                int size = shape.size();
+                System.arraycopy(values, ix + 1, values, ix, size - (ix + 1));
+                values[size - 1] = null;
+                shape = newShape;
+                changed(name);
+                return value;
+            }
+
+            convertToTable();
+        }
+
         int hash = name.hashCode();
 
         Cell[] cellsLocalRef = cells;
@@ -88,6 +246,7 @@ public final class Body {
                     }
                 }
 
+                changed(name);
                 return cell.value;
             }
         }
@@ -97,11 +256,21 @@ public final class Body {
     private Cell[] cells;
     private int count;
 
-    Cell firstAdded;
-    Cell lastAdded;
+    private Cell firstAdded;
+    private Cell lastAdded;
 
     private static final int INITIAL_CELL_SIZE = 4;
 
+    private void convertToTable() {
+        String[] names = shape.names;
+        Object[] vals = values;
+        shape = null;
+        values = null;
+        for(int i = 0, j = names.length; i < j; i++) {
+            getCell(names[i], false).value = vals[i];
+        }
+    }
+
     public static class Cell {
         String name;
         int hash;
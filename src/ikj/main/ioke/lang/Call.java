@@ -3,9 +3,7 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
 
 import ioke.lang.exceptions.ControlFlow;
@@ -22,6 +20,9 @@ public class Call extends IokeData {
     List<Object> cachedPositional;
     Map<String, Object> cachedKeywords;
     int cachedArgCount;
+    // the list handed out by "arguments" - it wraps the argument list of
+    // the message itself, so the same object can be returned every time
+    private IokeObject argumentsList;
 
     public Call() {
     }
@@ -42,14 +43,18 @@ public class Call extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a list of all the unevaluated arguments", new TypeCheckingNativeMethod.WithNoArguments("arguments", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return context.runtime.newList(((Call)IokeObject.data(on)).message.getArguments());
+                    Call c = (Call)IokeObject.data(on);
+                    if(c.argumentsList == null) {
+                        c.argumentsList = context.runtime.newList(c.message.getArguments());
+                    }
+                    return c.argumentsList;
                 }
             }));
 
         obj.registerMethod(runtime.newNativeMethod("returns the ground of the place this call originated", new TypeCheckingNativeMethod.WithNoArguments("ground", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return ((Call)IokeObject.data(on)).surroundingContext;
                 }
@@ -58,7 +63,7 @@ public class Call extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the receiver of the call", new TypeCheckingNativeMethod.WithNoArguments("receiver", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return ((Call)IokeObject.data(on)).on;
                 }
@@ -67,7 +72,7 @@ public class Call extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the currently executing context", new TypeCheckingNativeMethod.WithNoArguments("currentContext", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return ((Call)IokeObject.data(on)).ctx;
                 }
@@ -76,7 +81,7 @@ public class Call extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the message that started this call", new TypeCheckingNativeMethod.WithNoArguments("message", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return ((Call)IokeObject.data(on)).message;
                 }
@@ -85,51 +90,28 @@ public class Call extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a list of the result of evaluating all the arguments to this call", new TypeCheckingNativeMethod.WithNoArguments("evaluatedArguments", runtime.call) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     IokeObject msg = ((Call)IokeObject.data(on)).message;
-                    return context.runtime.newList(Interpreter.getEvaluatedArguments(msg, ((Call)IokeObject.data(on)).surroundingContext));
+                    return context.runtime.newList(new NumberList(Interpreter.getEvaluatedArguments(msg, ((Call)IokeObject.data(on)).surroundingContext)));
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes one evaluated text or symbol argument and resends the current message to that method/macro on the current receiver.", new TypeCheckingNativeMethod("resendToMethod") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.call)
-                    .withRequiredPositional("cellName")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("takes one evaluated text or symbol argument and resends the current message to that method/macro on the current receiver.", new TypeCheckingNativeMethod.WithOneArgument("resendToMethod", runtime.call, "cellName") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     Call c = (Call)IokeObject.data(on);
-                    String name = Text.getText(Interpreter.send(runtime.asText, context, args.get(0)));
-                    IokeObject m = Message.copy(c.message);
-                    Message.setName(m, name);
+                    String name = Text.getText(Interpreter.send(runtime.asText, context, arg));
+                    IokeObject m = Message.resendCopy(c.message, name);
                     return Interpreter.send(m, c.surroundingContext, c.on);
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes one evaluated object and resends the current message with that object as the new receiver", new TypeCheckingNativeMethod("resendToReceiver") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.call)
-                    .withRequiredPositional("newReceiver")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes one evaluated object and resends the current message with that object as the new receiver", new TypeCheckingNativeMethod.WithOneArgument("resendToReceiver", runtime.call, "newReceiver") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     Call c = (Call)IokeObject.data(on);
-                    Object recv = args.get(0);
+                    Object recv = arg;
                     return Interpreter.send(c.message, c.surroundingContext, recv);
                 }
             }));
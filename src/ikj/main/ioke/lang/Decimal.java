@@ -26,14 +26,29 @@ import gnu.math.BigSquareRoot;
  */
 public class Decimal extends IokeData {
     private final static DecimalFormatSymbols SYMBOLS = new DecimalFormatSymbols(Locale.US);
-    private final BigDecimal value;
+
+    // a float decimal keeps its value as a double, and only creates the
+    // BigDecimal if something asks for it. it is never infinite or NaN
+    private BigDecimal value;
+    private final double floatValue;
+    private final boolean isFloat;
 
     public Decimal(String textRepresentation) {
         this.value = new BigDecimal(textRepresentation).stripTrailingZeros();
+        this.floatValue = 0;
+        this.isFloat = false;
     }
 
     public Decimal(BigDecimal value) {
         this.value = value;
+        this.floatValue = 0;
+        this.isFloat = false;
+    }
+
+    public Decimal(double value) {
+        this.value = null;
+        this.floatValue = value;
+        this.isFloat = true;
     }
 
     public static Decimal decimal(String val) {
@@ -48,14 +63,75 @@ public class Decimal extends IokeData {
         return new Decimal(val);
     }
 
+    public static Decimal decimal(double val) {
+        return new Decimal(val);
+    }
+
     public static BigDecimal value(Object number) {
-        return ((Decimal)IokeObject.data(number)).value;
+        return ((Decimal)IokeObject.data(number)).getValue();
+    }
+
+    public BigDecimal getValue() {
+        BigDecimal v = value;
+        if(v == null) {
+            v = value = BigDecimal.valueOf(floatValue).stripTrailingZeros();
+        }
+        return v;
+    }
+
+    public boolean isFloat() {
+        return isFloat;
+    }
+
+    /**
+     * Returns the value of the argument as a double if it's a float decimal
+     * or a rational number, so that it can be combined with a float decimal
+     * without losing the float representation. Returns NaN for anything else.
+     */
+    static double floatOperand(Object arg) {
+        if(arg instanceof IokeObject) {
+            IokeData data = ((IokeObject)arg).data;
+            if(data instanceof Decimal) {
+                if(((Decimal)data).isFloat) {
+                    return ((Decimal)data).floatValue;
+                }
+            } else if(data instanceof Number) {
+                Number n = (Number)data;
+                if(n.isFixnum()) {
+                    return (double)n.getFixnum();
+                }
+                double d = n.getValue().doubleValue();
+                if(!Double.isInfinite(d)) {
+                    return d;
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Returns the decimal that the number should be turned into before being
+     * combined with the given decimal - a float decimal if that one is.
+     */
+    static IokeObject convertNumberFor(Object number, Object decimal, IokeObject context) throws ControlFlow {
+        Object data = IokeObject.data(decimal);
+        if((data instanceof Decimal) && ((Decimal)data).isFloat) {
+            double d = floatOperand(number);
+            if(!Double.isNaN(d)) {
+                return context.runtime.newDecimal(d);
+            }
+        }
+        return context.runtime.newDecimal((Number)IokeObject.data(number));
+    }
+
+    private static boolean finite(double d) {
+        return !Double.isNaN(d) && !Double.isInfinite(d);
     }
 
     public String asJavaString() {
         DecimalFormat format = new DecimalFormat("0.0", SYMBOLS);
         format.setMaximumFractionDigits(340);
-        return format.format(value);
+        return format.format(getValue());
     }
 
     @Override
@@ -89,21 +165,25 @@ public class Decimal extends IokeData {
         decimal.setKind("Number Decimal");
         runtime.decimal = decimal;
 
-        obj.registerMethod(runtime.newNativeMethod("returns a hash for the decimal number", new NativeMethod.WithNoArguments("hash") {
+        obj.registerMethod(runtime.newNativeMethod("returns a hash for the decimal number", new NativeMethod.Hash(Decimal.class) {
                 @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return context.runtime.newNumber(((Decimal)IokeObject.data(on)).value.hashCode());
+                public int hash(IokeObject on) {
+                    return ((Decimal)IokeObject.data(on)).getValue().hashCode();
                 }
             }));
 
         obj.registerMethod(runtime.newNativeMethod("returns the square root of the receiver. this should return the same result as calling ** with 0.5", new NativeMethod.WithNoArguments("sqrt") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
 
-                    BigDecimal value = ((Decimal)IokeObject.data(on)).value;
+                    Decimal d = (Decimal)IokeObject.data(on);
+                    if(d.isFloat && d.floatValue > 0) {
+                        return context.runtime.newDecimal(Math.sqrt(d.floatValue));
+                    }
+
+                    BigDecimal value = d.getValue();
 
                     if(value.compareTo(BigDecimal.ZERO) < 1) {
                         final IokeObject condition = IokeObject.as(IokeObject.getCellChain(context.runtime.condition,
@@ -142,7 +222,40 @@ public class Decimal extends IokeData {
                     return ((other instanceof IokeObject) &&
                             (IokeObject.data(other) instanceof Decimal)
                             && ((on == runtime.decimal && other == on) ||
-                                d.value.equals(((Decimal)IokeObject.data(other)).value))) ? context.runtime._true : context.runtime._false;
+                                d.getValue().equals(((Decimal)IokeObject.data(other)).getValue()))) ? context.runtime._true : context.runtime._false;
+                }
+            }));
+
+        decimal.registerMethod(runtime.newNativeMethod("returns true if this decimal is kept as a double precision floating point number, and false if it is exact", new TypeCheckingNativeMethod.WithNoArguments("float?", decimal) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    return ((Decimal)IokeObject.data(on)).isFloat ? context.runtime._true : context.runtime._false;
+                }
+            }));
+
+        decimal.registerMethod(runtime.newNativeMethod("returns this decimal as a double precision floating point number. arithmetic between floating point decimals, or between them and rationals, is fast but not exact, and follows IEEE 754. as soon as a floating point decimal is combined with an exact decimal, the result is exact again. results that can't be represented as a finite floating point number are calculated exactly instead. for the same reason, a decimal too large to be represented as a finite floating point number is returned unchanged, as an exact decimal.", new TypeCheckingNativeMethod.WithNoArguments("asFloat", decimal) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Decimal d = (Decimal)IokeObject.data(on);
+                    if(d.isFloat) {
+                        return on;
+                    }
+                    double r = d.getValue().doubleValue();
+                    if(!finite(r)) {
+                        return on;
+                    }
+                    return context.runtime.newDecimal(r);
+                }
+            }));
+
+        decimal.registerMethod(runtime.newNativeMethod("returns this decimal as an exact decimal", new TypeCheckingNativeMethod.WithNoArguments("asExact", decimal) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Decimal d = (Decimal)IokeObject.data(on);
+                    if(!d.isFloat) {
+                        return on;
+                    }
+                    return context.runtime.newDecimal(d.getValue());
                 }
             }));
 
@@ -167,46 +280,37 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("compares this number against the argument, true if this number is the same, otherwise false", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        decimal.registerMethod(runtime.newNativeMethod("compares this number against the argument, true if this number is the same, otherwise false", new TypeCheckingNativeMethod.Equality(decimal, Decimal.class) {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public boolean isEqual(IokeObject on, Object arg) {
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            return x.floatValue == y;
+                        }
+                    }
                     if(IokeObject.data(arg) instanceof Number) {
-                        return (Decimal.value(on).compareTo(Number.value(arg).asBigDecimal()) == 0) ? context.runtime._true : context.runtime._false;
+                        return Decimal.value(on).compareTo(Number.value(arg).asBigDecimal()) == 0;
                     } else if(IokeObject.data(arg) instanceof Decimal) {
-                        return (Decimal.value(on).compareTo(Decimal.value(arg)) == 0) ? context.runtime._true : context.runtime._false;
+                        return Decimal.value(on).compareTo(Decimal.value(arg)) == 0;
                     } else {
-                        return context.runtime._false;
+                        return false;
                     }
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("compares this number against the argument, returning -1, 0 or 1 based on which one is larger. if the argument is a rational, it will be converted into a form suitable for comparing against a decimal, and then compared. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that doesn't work it returns nil.", new TypeCheckingNativeMethod("<=>") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        decimal.registerMethod(runtime.newNativeMethod("compares this number against the argument, returning -1, 0 or 1 based on which one is larger. if the argument is a rational, it will be converted into a form suitable for comparing against a decimal, and then compared. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that doesn't work it returns nil.", new TypeCheckingNativeMethod.WithOneArgument("<=>", decimal, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            return context.runtime.newNumber(x.floatValue < y ? -1 : (x.floatValue == y ? 0 : 1));
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -233,21 +337,20 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("returns the difference between this number and the argument. if the argument is a rational, it will be converted into a form suitable for subtracting against a decimal, and then subtracted. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod("-") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("subtrahend")
-                    .getArguments();
-
+        decimal.registerMethod(runtime.newNativeMethod("returns the difference between this number and the argument. if the argument is a rational, it will be converted into a form suitable for subtracting against a decimal, and then subtracted. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("-", decimal, "subtrahend") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            double r = x.floatValue - y;
+                            if(finite(r)) {
+                                return context.runtime.newDecimal(r);
+                            }
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -263,21 +366,20 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("returns the sum of this number and the argument. if the argument is a rational, it will be converted into a form suitable for addition against a decimal, and then added. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod("+") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("addend")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        decimal.registerMethod(runtime.newNativeMethod("returns the sum of this number and the argument. if the argument is a rational, it will be converted into a form suitable for addition against a decimal, and then added. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("+", decimal, "addend") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            double r = x.floatValue + y;
+                            if(finite(r)) {
+                                return context.runtime.newDecimal(r);
+                            }
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -293,21 +395,20 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("returns the product of this number and the argument. if the argument is a rational, the receiver will be converted into a form suitable for multiplying against a decimal, and then multiplied. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod("*") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("multiplier")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        decimal.registerMethod(runtime.newNativeMethod("returns the product of this number and the argument. if the argument is a rational, the receiver will be converted into a form suitable for multiplying against a decimal, and then multiplied. if the argument is neither a Rational nor a Decimal, it tries to call asDecimal, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("*", decimal, "multiplier") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            double r = x.floatValue * y;
+                            if(finite(r)) {
+                                return context.runtime.newDecimal(r);
+                            }
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -323,21 +424,18 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("returns this number to the power of the argument (which has to be an integer)", new TypeCheckingNativeMethod("**") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("exponent")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        decimal.registerMethod(runtime.newNativeMethod("returns this number to the power of the argument (which has to be an integer)", new TypeCheckingNativeMethod.WithOneArgument("**", decimal, "exponent") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    Number n = Number.fixnum(arg);
+                    if(x.isFloat && n != null) {
+                        double r = Math.pow(x.floatValue, n.getFixnum());
+                        if(finite(r)) {
+                            return context.runtime.newDecimal(r);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -349,21 +447,22 @@ public class Decimal extends IokeData {
                 }
             }));
 
-        decimal.registerMethod(runtime.newNativeMethod("returns the quotient of this number and the argument.", new TypeCheckingNativeMethod("/") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(decimal)
-                    .withRequiredPositional("divisor")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        decimal.registerMethod(runtime.newNativeMethod("returns the quotient of this number and the argument.", new TypeCheckingNativeMethod.WithOneArgument("/", decimal, "divisor") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, final IokeObject context, IokeObject message) throws ControlFlow {
+
+                    Decimal x = (Decimal)IokeObject.data(on);
+                    if(x.isFloat) {
+                        double y = Decimal.floatOperand(arg);
+                        if(!Double.isNaN(y)) {
+                            if(y != 0) {
+                                double r = x.floatValue / y;
+                                if(finite(r)) {
+                                    return context.runtime.newDecimal(r);
+                                }
+                            }
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -417,5 +516,8 @@ public class Decimal extends IokeData {
                     }
                 }
             }));
+
+        runtime.decimalPlus = (IokeObject)decimal.body.get("+");
+        runtime.decimalCompare = (IokeObject)decimal.body.get("<=>");
     }
 }// Decimal
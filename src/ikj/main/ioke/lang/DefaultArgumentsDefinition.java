@@ -57,10 +57,13 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
 
     public static class KeywordArgument extends Argument {
         private Object defaultValue;
+        // the name as it's given in a call, with the colon
+        final String key;
 
         public KeywordArgument(String name, Object defaultValue) {
             super(name);
             this.defaultValue = defaultValue;
+            this.key = (name + ":").intern();
         }
 
         public Object getDefaultValue() {
@@ -83,6 +86,12 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
 
     private boolean hasUnevaluated = false;
 
+    private final static Object[] NO_VALUES = new Object[0];
+
+    // the keys of the keyword arguments, in the order they appear among the
+    // arguments. a call puts the value of a keyword at the same index
+    private final String[] keywordKeys;
+
     protected DefaultArgumentsDefinition(List<Argument> arguments, Collection<String> keywords, String rest, String krest, int min, int max, boolean restUneval) {
         this.arguments = arguments;
         this.keywords = keywords;
@@ -94,12 +103,30 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
 
         hasUnevaluated = restUneval;
 
+        List<String> keys = new ArrayList<String>();
         for(Argument arg : arguments) {
             if(arg instanceof UnevaluatedArgument) {
                 hasUnevaluated = true;
-                break;
+            } else if(arg instanceof KeywordArgument) {
+                keys.add(((KeywordArgument)arg).key);
             }
         }
+        keywordKeys = keys.toArray(new String[keys.size()]);
+    }
+
+    private int keywordIndex(String key) {
+        String[] keys = keywordKeys;
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] == key) {
+                return i;
+            }
+        }
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public Collection<String> getKeywords() {
@@ -343,6 +370,10 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
             }
         }
 
+        if(givenKeywords.isEmpty()) {
+            return argCount;
+        }
+
         final Set<String> intersection = new LinkedHashSet<String>(givenKeywords.keySet());
         intersection.removeAll(keywords);
 
@@ -379,6 +410,77 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
         return argCount;
     }
 
+    /**
+     * Returns true if the message has exactly count arguments, none of them
+     * keywords or splats, and this definition takes that many positional
+     * arguments - in which case evaluating them one by one gives the same
+     * result as getEvaluatedArguments.
+     */
+    private boolean takesPlainArguments(IokeObject message, int count) throws ControlFlow {
+        if(count < min || (max != -1 && count > max)) {
+            return false;
+        }
+
+        List<Object> arguments = message.getArguments();
+        if(arguments.size() != count) {
+            return false;
+        }
+
+        for(int i = 0; i < count; i++) {
+            Object o = arguments.get(i);
+            if(Message.isKeyword(o) || (Message.hasName(o, "*") && ((IokeObject)o).getArguments().size() == 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the arguments for a method that takes no arguments - which
+     * means signalling a condition if there are any. Doesn't allocate
+     * anything in the common case.
+     */
+    public void evaluateNoArguments(IokeObject context, IokeObject message, Object on) throws ControlFlow {
+        if(!takesPlainArguments(message, 0)) {
+            getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+        }
+    }
+
+    /**
+     * Evaluates and returns the argument for a method that takes exactly one
+     * positional argument.
+     */
+    public Object evaluateOneArgument(IokeObject context, IokeObject message, Object on) throws ControlFlow {
+        if(takesPlainArguments(message, 1)) {
+            return Interpreter.getEvaluatedArgument(message.getArguments().get(0), context);
+        }
+
+        List<Object> args = new ArrayList<Object>();
+        getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
+        return args.get(0);
+    }
+
+    /**
+     * Evaluates the arguments for a method that takes exactly as many
+     * positional arguments as there is room for in result - usually two or
+     * three - and puts them there.
+     */
+    public void evaluateArguments(IokeObject context, IokeObject message, Object on, Object[] result) throws ControlFlow {
+        if(takesPlainArguments(message, result.length)) {
+            List<Object> arguments = message.getArguments();
+            for(int i = 0; i < result.length; i++) {
+                result[i] = Interpreter.getEvaluatedArgument(arguments.get(i), context);
+            }
+            return;
+        }
+
+        List<Object> args = new ArrayList<Object>();
+        getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
+        for(int i = 0; i < result.length; i++) {
+            result[i] = args.get(i);
+        }
+    }
+
     public void assignArgumentValues(final IokeObject locals, final IokeObject context, final IokeObject message, final Object on, final Call call) throws ControlFlow {
         if(call.cachedPositional != null) {
             assignArgumentValues(locals, context, message, on, call.cachedPositional, call.cachedKeywords, call.cachedArgCount);
@@ -394,24 +496,114 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
     }
 
     public void assignArgumentValues(final IokeObject locals, final IokeObject context, final IokeObject message, final Object on) throws ControlFlow {
+        if(!hasUnevaluated && bindArguments(locals, context, message)) {
+            return;
+        }
+
         final List<Object> argumentsWithoutKeywords = new ArrayList<Object>();
         final Map<String, Object> givenKeywords = new LinkedHashMap<String, Object>();
         final int argCount = getEvaluatedArguments(context, message, on, argumentsWithoutKeywords, givenKeywords);
         assignArgumentValues(locals, context, message, on, argumentsWithoutKeywords, givenKeywords, argCount);
     }
 
-    private void assignArgumentValues(final IokeObject locals, final IokeObject context, final IokeObject message, final Object on, final List<Object> argumentsWithoutKeywords, final Map<String, Object> givenKeywords, final int argCount) throws ControlFlow {
+    /**
+     * Binds the arguments of a call directly into the locals, when the
+     * message only has positional arguments and keywords this definition
+     * knows about, and the positional arguments are the right number. That
+     * is checked before anything is evaluated. Positional values and
+     * keyword values are then evaluated in order into two arrays, with the
+     * keywords at the index of their keyword argument, so no maps or sets
+     * are needed. Returns false if the message has to go through
+     * getEvaluatedArguments instead - for splats, unknown keywords and
+     * everything else that can signal a condition.
+     */
+    private boolean bindArguments(final IokeObject locals, final IokeObject context, final IokeObject message) throws ControlFlow {
+        final List<Object> args = message.getArguments();
+        final int size = args.size();
+
+        int positionalCount = 0;
+        for(int i = 0; i < size; i++) {
+            Object o = args.get(i);
+            if(Message.isKeyword(o)) {
+                if(keywordIndex(Message.name(o)) == -1) {
+                    return false;
+                }
+            } else if(Message.hasName(o, "*") && ((IokeObject)o).getArguments().size() == 1) {
+                return false;
+            } else {
+                positionalCount++;
+            }
+        }
+
+        if(positionalCount < min || (max != -1 && positionalCount > max)) {
+            return false;
+        }
+
+        final Object[] positional = positionalCount == 0 ? NO_VALUES : new Object[positionalCount];
+        final Object[] given = keywordKeys.length == 0 ? NO_VALUES : new Object[keywordKeys.length];
+        int ix = 0;
+        for(int i = 0; i < size; i++) {
+            Object o = args.get(i);
+            if(Message.isKeyword(o)) {
+                given[keywordIndex(Message.name(o))] = Interpreter.getEvaluatedArgument(((Message)IokeObject.data(o)).next, context);
+            } else {
+                positional[ix++] = Interpreter.getEvaluatedArgument(o, context);
+            }
+        }
+
         final Runtime runtime = context.runtime;
+        ix = 0;
+        int k = 0;
+        for(int i=0, j=this.arguments.size();i<j;i++) {
+            Argument a = this.arguments.get(i);
 
-        final Set<String> intersection = new LinkedHashSet<String>(givenKeywords.keySet());
-        intersection.removeAll(keywords);
+            if(a instanceof KeywordArgument) {
+                Object value = given[k++];
+                if(value == null) {
+                    Object defVal = ((KeywordArgument)a).getDefaultValue();
+                    if(!(defVal instanceof String)) {
+                        IokeObject msg = IokeObject.as(defVal, context);
+                        locals.setCell(a.getName(), runtime.interpreter.evaluate(msg, locals, locals.getRealContext(), locals));
+                    }
+                } else {
+                    locals.setCell(a.getName(), value);
+                }
+            } else if((a instanceof OptionalArgument) && ix>=positionalCount) {
+                Object defVal = ((OptionalArgument)a).getDefaultValue();
+                if(!(defVal instanceof String)) {
+                    IokeObject msg = IokeObject.as(defVal, context);
+                    locals.setCell(a.getName(), runtime.interpreter.evaluate(msg, locals, locals.getRealContext(), locals));
+                }
+            } else {
+                locals.setCell(a.getName(), positional[ix++]);
+            }
+        }
+
+        if(krest != null) {
+            locals.setCell(krest, runtime.newDict(new LinkedHashMap<Object, Object>()));
+        }
+
+        if(rest != null) {
+            List<Object> rests = new ArrayList<Object>();
+            for(;ix<positionalCount;ix++) {
+                rests.add(positional[ix]);
+            }
+
+            locals.setCell(rest, runtime.newList(rests));
+        }
+
+        return true;
+    }
+
+    private void assignArgumentValues(final IokeObject locals, final IokeObject context, final IokeObject message, final Object on, final List<Object> argumentsWithoutKeywords, final Map<String, Object> givenKeywords, final int argCount) throws ControlFlow {
+        final Runtime runtime = context.runtime;
 
         int ix = 0;
         for(int i=0, j=this.arguments.size();i<j;i++) {
             Argument a = this.arguments.get(i);
 
             if(a instanceof KeywordArgument) {
-                Object given = givenKeywords.get(a.getName() + ":");
+                Object given = givenKeywords.get(((KeywordArgument)a).key);
                 Object result = null;
                 if(given == null) {
                     Object defVal = ((KeywordArgument)a).getDefaultValue();
@@ -437,6 +629,8 @@ public class DefaultArgumentsDefinition implements ArgumentsDefinition {
 
         if(krest != null) {
             Map<Object, Object> krests = new LinkedHashMap<Object, Object>();
+            final Set<String> intersection = new LinkedHashSet<String>(givenKeywords.keySet());
+            intersection.removeAll(keywords);
             for(String s : intersection) {
                 Object given = givenKeywords.get(s);
                 Object result = given;
@@ -3,8 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -174,18 +172,7 @@ public class DefaultMacro extends IokeData implements Named, Inspectable, Associ
             return null;
         }
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing macro receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, 1 + data.size());
         c.setCell("call", call);
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
@@ -193,7 +180,9 @@ public class DefaultMacro extends IokeData implements Named, Inspectable, Associ
         }
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -221,22 +210,13 @@ public class DefaultMacro extends IokeData implements Named, Inspectable, Associ
             return null;
         }
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing macro receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, 1);
         c.setCell("call", context.runtime.newCallFrom(c, message, context, IokeObject.as(on, context)));
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -264,18 +244,7 @@ public class DefaultMacro extends IokeData implements Named, Inspectable, Associ
             return null;
         }
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing macro receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, 1 + data.size());
         c.setCell("call", context.runtime.newCallFrom(c, message, context, IokeObject.as(on, context)));
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
@@ -283,7 +252,9 @@ public class DefaultMacro extends IokeData implements Named, Inspectable, Associ
         }
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -5,7 +5,6 @@ package ioke.lang;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
 
 import ioke.lang.exceptions.ControlFlow;
@@ -17,6 +16,8 @@ import ioke.lang.exceptions.ControlFlow;
 public class DefaultMethod extends Method implements AssociatedCode {
     private ArgumentsDefinition arguments;
     private IokeObject code;
+    // the number of cells an activation adds to its Locals, besides the standard ones
+    private int frameCells;
 
     public DefaultMethod(String name) {
         super(name, IokeData.TYPE_DEFAULT_METHOD);
@@ -26,6 +27,11 @@ public class DefaultMethod extends Method implements AssociatedCode {
         super(context, IokeData.TYPE_DEFAULT_METHOD);
         this.arguments = arguments;
         this.code = code;
+        if(arguments != null) {
+            this.frameCells = 1 + arguments.getArguments().size() + (arguments.getRestName() == null ? 0 : 1) + (arguments.getKrestName() == null ? 0 : 1);
+        } else {
+            this.frameCells = 1;
+        }
     }
 
     public IokeObject getCode() {
@@ -96,41 +102,6 @@ public class DefaultMethod extends Method implements AssociatedCode {
         }
     }
 
-    private static IokeObject createSuperCallFor(final IokeObject out_self, final IokeObject out_context, final IokeObject out_message, final Object out_on, final String out_name) throws ControlFlow {
-        return out_context.runtime.newNativeMethod("will call the super method of the current message on the same receiver", new NativeMethod("super") {
-                private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
-                    .builder()
-                    .withRestUnevaluated("arguments")
-                    .getArguments();
-
-                @Override
-                public DefaultArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    Object superCell = context.runtime.nul;
-                    if(out_name != null) {
-                        superCell = IokeObject.findSuperCellOn(out_on, out_self, out_context, out_name);
-                    }
-                    if(superCell == context.runtime.nul) {
-                        superCell = IokeObject.findSuperCellOn(out_on, out_self, out_context, Message.name(out_message));
-                    }
-
-                    if(superCell != context.runtime.nul) {
-                        if(IokeObject.data(superCell) instanceof Method) {
-                            return Interpreter.activate(((IokeObject)superCell), context, message, out_on);
-                        } else {
-                            return superCell;
-                        }
-                    } else {
-                        return Interpreter.signalNoSuchCell(message, context, out_on, out_name, superCell, out_self);
-                    }
-                }
-            });
-    }
-
     public static Object activateWithCallAndDataFixed(final IokeObject self, IokeObject context, IokeObject message, Object on, Object call, Map<String, Object> data) throws ControlFlow {
         DefaultMethod dm = (DefaultMethod)self.data;
         if(dm.code == null) {
@@ -150,31 +121,20 @@ public class DefaultMethod extends Method implements AssociatedCode {
         }
 
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing method receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, dm.frameCells + data.size());
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
             c.setCell(s.substring(0, s.length()-1), d.getValue());
         }
 
-        c.setCell("super", createSuperCallFor(self, context, message, on, dm.name));
+        c.setCell("super", context.runtime.superCall);
 
         dm.arguments.assignArgumentValues(c, context, message, on, ((Call)IokeObject.data(call)));
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -203,26 +163,15 @@ public class DefaultMethod extends Method implements AssociatedCode {
         }
 
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing method receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
-        c.setCell("super", createSuperCallFor(self, context, message, on, dm.name));
+        IokeObject c = Locals.newFrame(self, context, message, on, dm.frameCells);
+        c.setCell("super", context.runtime.superCall);
 
         dm.arguments.assignArgumentValues(c, context, message, on);
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -251,31 +200,20 @@ public class DefaultMethod extends Method implements AssociatedCode {
         }
 
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing method receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, dm.frameCells + data.size());
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
             c.setCell(s.substring(0, s.length()-1), d.getValue());
         }
 
-        c.setCell("super", createSuperCallFor(self, context, message, on, dm.name));
+        c.setCell("super", context.runtime.superCall);
 
         dm.arguments.assignArgumentValues(c, context, message, on);
 
         try {
-            return context.runtime.interpreter.evaluate(dm.code, c, on, c);
+            Object result = context.runtime.interpreter.evaluate(dm.code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
+            return result;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 return e.getValue();
@@ -3,8 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -192,18 +190,7 @@ public class DefaultSyntax extends IokeData implements Named, Inspectable, Assoc
             return null;
         }
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing syntax receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, data == null ? 1 : 1 + data.size());
         c.setCell("call", context.runtime.newCallFrom(c, message, context, IokeObject.as(on, context)));
         if(data != null) {
             for(Map.Entry<String, Object> d : data.entrySet()) {
@@ -215,7 +202,8 @@ public class DefaultSyntax extends IokeData implements Named, Inspectable, Assoc
         Object result = null;
 
         try {
-            result = context.runtime.interpreter.evaluate(code, c, on, c);
+            result = context.runtime.interpreter.evaluate(code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 result = e.getValue();
@@ -244,18 +232,7 @@ public class DefaultSyntax extends IokeData implements Named, Inspectable, Assoc
             return null;
         }
 
-        IokeObject c = context.runtime.locals.mimic(message, context);
-        c.setCell("self", on);
-        c.setCell("@", on);
-        c.registerMethod(c.runtime.newNativeMethod("will return the currently executing syntax receiver", new NativeMethod.WithNoArguments("@@") {
-                @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return self;
-                }
-            }));
-        c.setCell("currentMessage", message);
-        c.setCell("surroundingContext", context);
+        IokeObject c = Locals.newFrame(self, context, message, on, data == null ? 1 : 1 + data.size());
         c.setCell("call", call);
         if(data != null) {
             for(Map.Entry<String, Object> d : data.entrySet()) {
@@ -267,7 +244,8 @@ public class DefaultSyntax extends IokeData implements Named, Inspectable, Assoc
         Object result = null;
 
         try {
-            result = context.runtime.interpreter.evaluate(code, c, on, c);
+            result = context.runtime.interpreter.evaluate(code, c, on, c, c, Activation.RETURN);
+            ((Activation)c.data).signal = 0;
         } catch(ControlFlow.Return e) {
             if(e.context == c) {
                 result = e.getValue();
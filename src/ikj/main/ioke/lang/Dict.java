@@ -3,24 +3,32 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
 
 import ioke.lang.exceptions.ControlFlow;
+import ioke.lang.util.OpenHashMap;
+import ioke.lang.util.PersistentLinkedHashMap;
 
 /**
  *
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class Dict extends IokeData {
+    // dicts at least this large are copied with structural sharing
+    private static final int SHARING_THRESHOLD = 32;
+
     private Map<Object, Object> dict;
+    // true when the entries might be shared with a mimic or the object it was mimicked from
+    private boolean shared;
+    // the number of puts and removes running, since they can send hash and == to keys
+    private int changing;
     private IokeObject defaultValue;
 
     public Dict() {
-        this(new HashMap<Object, Object>());
+        this(new OpenHashMap<Object, Object>());
     }
 
     public Dict(Map<Object, Object> d) {
@@ -51,7 +59,7 @@ public class Dict extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a hash for the dictionary", new NativeMethod.WithNoArguments("hash") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newNumber(((Dict)IokeObject.data(on)).dict.hashCode());
                 }
             }));
@@ -79,22 +87,11 @@ public class Dict extends IokeData {
             }));
 
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument, that should be a default value, and returns a new mimic of the receiver, with the default value for that new dict set to the argument", new TypeCheckingNativeMethod("withDefault") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.dict)
-                    .withRequiredPositional("defaultValue")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument, that should be a default value, and returns a new mimic of the receiver, with the default value for that new dict set to the argument", new TypeCheckingNativeMethod.WithOneArgument("withDefault", runtime.dict, "defaultValue") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     Object newDict = IokeObject.mimic(on, message, context);
-                    setDefaultValue(newDict, IokeObject.as(args.get(0), context));
+                    setDefaultValue(newDict, IokeObject.as(arg, context));
                     return newDict;
                 }}));
 
@@ -113,12 +110,11 @@ public class Dict extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Map<Object, Object> newMap = new HashMap<Object, Object>();
-                    newMap.putAll(getMap(on));
+                    Map<Object, Object> newMap = copy(peekMap(on));
 
                     for(Object o : args) {
                         if(IokeObject.data(o) instanceof Dict) {
-                            newMap.putAll(getMap(o));
+                            newMap.putAll(peekMap(o));
                         } else if(IokeObject.data(o) instanceof Pair) {
                             newMap.put(Pair.getFirst(o), Pair.getSecond(o));
                         } else {
@@ -141,21 +137,10 @@ public class Dict extends IokeData {
 
         obj.aliasMethod("merge", "+", null, null);
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument, the key of the element to return. if the key doesn't map to anything in the dict, returns the default value", new TypeCheckingNativeMethod("at") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.dict)
-                    .withRequiredPositional("key")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument, the key of the element to return. if the key doesn't map to anything in the dict, returns the default value", new TypeCheckingNativeMethod.WithOneArgument("at", runtime.dict, "key") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object result = Dict.getMap(on).get(args.get(0));
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    Object result = peekMap(on).get(arg);
                     if(result == null) {
                         return getDefaultValue(on, context, message);
                     } else {
@@ -166,50 +151,34 @@ public class Dict extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns true if this dict is empty, false otherwise", new TypeCheckingNativeMethod.WithNoArguments("empty?", runtime.dict) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return Dict.getMap(on).isEmpty() ? context.runtime._true : context.runtime._false;
+                    return peekMap(on).isEmpty() ? context.runtime._true : context.runtime._false;
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument, the key to check if it is in the dict.", new TypeCheckingNativeMethod("key?") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.dict)
-                    .withRequiredPositional("key")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument, the key to check if it is in the dict.", new TypeCheckingNativeMethod.WithOneArgument("key?", runtime.dict, "key") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return (Dict.getMap(on).containsKey(args.get(0))) ? context.runtime._true : context.runtime._false;
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    return (peekMap(on).containsKey(arg)) ? context.runtime._true : context.runtime._false;
                 }}));
 
-        obj.registerMethod(runtime.newNativeMethod("takes two arguments, the key of the element to set and the value to set it too. returns the value set", new TypeCheckingNativeMethod("[]=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.dict)
-                    .withRequiredPositional("key")
-                    .withRequiredPositional("value")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes two arguments, the key of the element to set and the value to set it too. returns the value set", new TypeCheckingNativeMethod.WithTwoArguments("[]=", runtime.dict, "key", "value") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object key, Object value, IokeObject context, IokeObject message) throws ControlFlow {
+                    ((Dict)IokeObject.data(on)).put(key, value);
+                    return value;
+                }}));
 
+        obj.registerMethod(runtime.newNativeMethod("takes one argument, the key of the pair to remove. removes that key and its value from the dict, if the key is in the dict. returns the dict after removing the pair", new TypeCheckingNativeMethod.WithOneArgument("removeKey!", runtime.dict, "key") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Dict.getMap(on).put(args.get(0), args.get(1));
-                    return args.get(1);
+                public Object activate(IokeObject method, Object on, Object key, IokeObject context, IokeObject message) throws ControlFlow {
+                    ((Dict)IokeObject.data(on)).remove(key);
+                    return on;
                 }}));
 
         obj.registerMethod(runtime.newNativeMethod("Returns the number of pairs contained in this dict.", new TypeCheckingNativeMethod.WithNoArguments("size", runtime.dict) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return runtime.newNumber(Dict.getMap(on).size());
+                    return runtime.newNumber(peekMap(on).size());
                 }
             }));
 
@@ -231,7 +200,7 @@ public class Dict extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("Returns all the keys of this dict", new TypeCheckingNativeMethod.WithNoArguments("keys", runtime.dict) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return method.runtime.newSet(Dict.getKeys(on));
+                    return method.runtime.newSet(peekMap(on).keySet());
                 }
             }));
 
@@ -241,7 +210,7 @@ public class Dict extends IokeData {
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeObject obj = method.runtime.keyValueIteratorSequence.allocateCopy(null, null);
                     obj.singleMimicsWithoutCheck(method.runtime.keyValueIteratorSequence);
-                    obj.setData(new Sequence.KeyValueIteratorSequence(Dict.getMap(on).entrySet().iterator()));
+                    obj.setData(new Sequence.KeyValueIteratorSequence(peekMap(on).entrySet().iterator()));
                     return obj;
                 }
             }));
@@ -267,7 +236,7 @@ public class Dict extends IokeData {
                     on = runtime.dict.convertToThis(on, message, context);
 
                     Runtime runtime = context.runtime;
-                    Map<Object, Object> ls = Dict.getMap(on);
+                    Map<Object, Object> ls = peekMap(on);
                     switch(message.getArgumentCount()) {
                     case 0: {
                         return Interpreter.send(runtime.seqMessage, context, on);
@@ -319,12 +288,79 @@ public class Dict extends IokeData {
         return ((Dict)IokeObject.data(dict)).getMap().keySet();
     }
 
+    /**
+     * Returns the entries, first copying them if they're shared with
+     * another dict object, so that the caller is free to modify them.
+     */
     public Map<Object, Object> getMap() {
+        if(shared) {
+            dict = copy(dict);
+            shared = false;
+        }
         return dict;
     }
 
+    /**
+     * Returns the entries without copying them when they're shared. The
+     * result must not be modified.
+     */
+    /**
+     * Puts the pair in the entries. Finding the key can send hash and ==
+     * to it, and a dict mimicked from there gets its own copy of the
+     * entries right away, since they are changed after that.
+     */
+    public Object put(Object key, Object value) {
+        Map<Object, Object> map = getMap();
+        changing++;
+        try {
+            return map.put(key, value);
+        } finally {
+            changing--;
+        }
+    }
+
+    /**
+     * Removes the key from the entries, the same way as put.
+     */
+    public Object remove(Object key) {
+        Map<Object, Object> map = getMap();
+        changing++;
+        try {
+            return map.remove(key);
+        } finally {
+            changing--;
+        }
+    }
+
+    static Map<Object, Object> peekMap(Object on) {
+        return ((Dict)IokeObject.data(on)).dict;
+    }
+
+    /**
+     * Copies the entries for a new dict. Large dicts are copied into a
+     * PersistentLinkedHashMap, and copying one of those shares its
+     * structure, so merging into a dict over and over doesn't copy all
+     * of it every time. Both keep the entries in insertion order.
+     */
+    static Map<Object, Object> copy(Map<Object, Object> dict) {
+        if(dict instanceof PersistentLinkedHashMap || dict.size() >= SHARING_THRESHOLD) {
+            return new PersistentLinkedHashMap<Object, Object>(dict);
+        }
+        return new OpenHashMap<Object, Object>(dict);
+    }
+
+    /**
+     * The new dict shares the entries with this one, and whichever of
+     * them is modified first copies them - except while a put or remove
+     * is running, when they are copied right away.
+     */
     public IokeData cloneData(IokeObject obj, IokeObject m, IokeObject context) {
-        return new Dict(new HashMap<Object, Object>(dict));
+        if(changing > 0) {
+            return new Dict(copy(dict));
+        }
+        Dict clone = new Dict(dict);
+        clone.shared = shared = true;
+        return clone;
     }
 
     @Override
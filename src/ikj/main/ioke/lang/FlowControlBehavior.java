@@ -144,6 +144,9 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
+
                     List<Object> args = new ArrayList<Object>();
                     getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
 
@@ -151,6 +154,11 @@ public class FlowControlBehavior {
                     if(message.getArgumentCount() > 0) {
                         value = Interpreter.getEvaluatedArgument(message, 0, context);
                     }
+
+                    if((accepts & Activation.BREAK) != 0) {
+                        ((Activation)frame.data).signal = Activation.BREAK;
+                        return value;
+                    }
                     throw new ControlFlow.Break(value);
                 }
             }));
@@ -168,12 +176,20 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
+
                     Object value = runtime.nil;
                     List<Object> args = new ArrayList<Object>();
                     getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
                     if(args.size() > 0) {
                         value = args.get(0);
                     }
+                    if((accepts & Activation.RETURN) != 0) {
+                        ((Activation)frame.data).signal = Activation.RETURN;
+                        return value;
+                    }
+
                     IokeObject ctx = context;
                     while(ctx.data instanceof LexicalContext) {
                         ctx = ((LexicalContext)ctx.data).surroundingContext;
@@ -186,8 +202,15 @@ public class FlowControlBehavior {
         obj.registerMethod(runtime.newNativeMethod("breaks out of the enclosing context and continues from that point again.", new NativeMethod.WithNoArguments("continue") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
 
+                    getArguments().evaluateNoArguments(context, message, on);
+
+                    if((accepts & Activation.CONTINUE) != 0) {
+                        ((Activation)frame.data).signal = Activation.CONTINUE;
+                        return runtime.nil;
+                    }
                     throw new ControlFlow.Continue();
                 }
             }));
@@ -206,12 +229,15 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
                     getArguments().checkArgumentCount(context, message, on);
 
                     if(message.getArgumentCount() == 0) {
                         return runtime.nil;
                     }
 
+                    int bodyAccepts = frame == null ? 0 : (accepts | Activation.BREAK | Activation.CONTINUE);
                     boolean body = message.getArgumentCount() > 1;
                     Object ret = runtime.nil;
                     boolean doAgain = false;
@@ -220,7 +246,18 @@ public class FlowControlBehavior {
                         try {
                             while(!IokeObject.isTrue(Interpreter.getEvaluatedArgument(message, 0, context))) {
                                 if(body) {
-                                    ret = Interpreter.getEvaluatedArgument(message, 1, context);
+                                    Object value = Interpreter.getEvaluatedArgument(message, 1, context, frame, bodyAccepts);
+                                    if(bodyAccepts != 0 && ((Activation)frame.data).signal != 0) {
+                                        Activation activation = (Activation)frame.data;
+                                        if(activation.signal == Activation.CONTINUE) {
+                                            activation.signal = 0;
+                                            continue;
+                                        } else if(activation.signal == Activation.BREAK) {
+                                            activation.signal = 0;
+                                        }
+                                        return value;
+                                    }
+                                    ret = value;
                                 }
                             }
                         } catch(ControlFlow.Break e) {
@@ -248,12 +285,15 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
                     getArguments().checkArgumentCount(context, message, on);
 
                     if(message.getArgumentCount() == 0) {
                         return runtime.nil;
                     }
 
+                    int bodyAccepts = frame == null ? 0 : (accepts | Activation.BREAK | Activation.CONTINUE);
                     boolean body = message.getArgumentCount() > 1;
                     Object ret = runtime.nil;
                     boolean doAgain = false;
@@ -262,7 +302,18 @@ public class FlowControlBehavior {
                         try {
                             while(IokeObject.isTrue(Interpreter.getEvaluatedArgument(message, 0, context))) {
                                 if(body) {
-                                    ret = Interpreter.getEvaluatedArgument(message, 1, context);
+                                    Object value = Interpreter.getEvaluatedArgument(message, 1, context, frame, bodyAccepts);
+                                    if(bodyAccepts != 0 && ((Activation)frame.data).signal != 0) {
+                                        Activation activation = (Activation)frame.data;
+                                        if(activation.signal == Activation.CONTINUE) {
+                                            activation.signal = 0;
+                                            continue;
+                                        } else if(activation.signal == Activation.BREAK) {
+                                            activation.signal = 0;
+                                        }
+                                        return value;
+                                    }
+                                    ret = value;
                                 }
                             }
                         } catch(ControlFlow.Break e) {
@@ -289,13 +340,26 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
                     getArguments().checkArgumentCount(context, message, on);
 
                     if(message.getArgumentCount() > 0) {
+                        int bodyAccepts = frame == null ? 0 : (accepts | Activation.BREAK | Activation.CONTINUE);
                         while(true) {
                             try {
                                 while(true) {
-                                    Interpreter.getEvaluatedArgument(message, 0, context);
+                                    Object value = Interpreter.getEvaluatedArgument(message, 0, context, frame, bodyAccepts);
+                                    if(bodyAccepts != 0 && ((Activation)frame.data).signal != 0) {
+                                        Activation activation = (Activation)frame.data;
+                                        if(activation.signal == Activation.CONTINUE) {
+                                            activation.signal = 0;
+                                            continue;
+                                        } else if(activation.signal == Activation.BREAK) {
+                                            activation.signal = 0;
+                                        }
+                                        return value;
+                                    }
                                 }
                             } catch(ControlFlow.Break e) {
                                 return e.getValue();
@@ -323,6 +387,8 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
                     getArguments().checkArgumentCount(context, message, on);
 
                     Object test = Interpreter.getEvaluatedArgument(message, 0, context);
@@ -332,13 +398,13 @@ public class FlowControlBehavior {
 
                     if(IokeObject.isTrue(test)) {
                         if(message.getArgumentCount() > 1) {
-                            return Interpreter.getEvaluatedArgument(message, 1, itContext);
+                            return Interpreter.getEvaluatedArgument(message, 1, itContext, frame, accepts);
                         } else {
                             return test;
                         }
                     } else {
                         if(message.getArgumentCount() > 2) {
-                            return Interpreter.getEvaluatedArgument(message, 2, itContext);
+                            return Interpreter.getEvaluatedArgument(message, 2, itContext, frame, accepts);
                         } else {
                             return test;
                         }
@@ -361,6 +427,8 @@ public class FlowControlBehavior {
 
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    IokeObject frame = Activation.frameOf(context);
+                    int accepts = Activation.accepted(frame, message);
                     getArguments().checkArgumentCount(context, message, on);
 
                     Object test = Interpreter.getEvaluatedArgument(message, 0, context);
@@ -370,13 +438,13 @@ public class FlowControlBehavior {
 
                     if(IokeObject.isTrue(test)) {
                         if(message.getArgumentCount() > 2) {
-                            return Interpreter.getEvaluatedArgument(message, 2, itContext);
+                            return Interpreter.getEvaluatedArgument(message, 2, itContext, frame, accepts);
                         } else {
                             return test;
                         }
                     } else {
                         if(message.getArgumentCount() > 1) {
-                            return Interpreter.getEvaluatedArgument(message, 1, itContext);
+                            return Interpreter.getEvaluatedArgument(message, 1, itContext, frame, accepts);
                         } else {
                             return test;
                         }
@@ -419,5 +487,9 @@ public class FlowControlBehavior {
                     return result;
                 }
             }));
+
+        for(String name : new String[]{"break", "return", "continue", "until", "while", "loop", "if", "unless"}) {
+            ((NativeMethod)IokeObject.as(obj.body.get(name), null).data).acceptsSignals = true;
+        }
     }
 }
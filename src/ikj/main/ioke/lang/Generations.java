@@ -0,0 +1,43 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The generation counters that inline caches and the method cache of a
+ * runtime check their entries against. There is one counter for changes
+ * that can affect every lookup - the mimics of a mimicked object changing -
+ * and a small table of counters for changes to the cells of mimicked
+ * objects, indexed by the hash of the cell name. Setting or removing a cell
+ * only invalidates the cached lookups of names that hash to the same slot.
+ *
+ * Both kinds of counters only ever grow, so their sum changes every time
+ * one of them does, and can be used as the generation of a name.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class Generations {
+    private static final int SLOTS = 64;
+    private static final int MASK = SLOTS - 1;
+
+    private final AtomicInteger all = new AtomicInteger();
+    private final AtomicIntegerArray named = new AtomicIntegerArray(SLOTS);
+
+    /**
+     * Returns the generation that lookups of the name are valid for.
+     */
+    int current(String name) {
+        return all.get() + named.get(name.hashCode() & MASK);
+    }
+
+    void changed(String name) {
+        named.incrementAndGet(name.hashCode() & MASK);
+    }
+
+    void changedAll() {
+        all.incrementAndGet();
+    }
+}// Generations
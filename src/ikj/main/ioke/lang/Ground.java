@@ -3,9 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-
 import ioke.lang.exceptions.ControlFlow;
 
 /**
@@ -63,7 +60,7 @@ public class Ground {
                                                     new NativeMethod.WithNoArguments("stackTraceAsText") {
                                                         @Override
                                                         public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                                                            getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                                                            getArguments().evaluateNoArguments(context, message, on);
 
                                                             return context.runtime.newText("");
                                                         }}));
@@ -0,0 +1,129 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+/**
+ * A small polymorphic cache of cell lookups, stored on every Message that
+ * has been sent. Each entry is keyed either on the Shape and single mimic of
+ * the receiver - which is shared by all objects created the same way - or,
+ * for bodies that have their own hash table or several mimics, on the body of
+ * the receiver itself. A body keyed entry is only valid as long as that body
+ * hasn't changed. All entries are only valid for the generation of the name
+ * they were filled in - see Generations. Failed lookups are cached as
+ * the runtime nul value. Cells found directly on the receiver and lookups
+ * through lexical contexts are never cached.
+ *
+ * Instances are immutable, so a cache can be shared between threads without
+ * locking - adding an entry creates a new cache.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class InlineCache {
+    static final int MAX_ENTRIES = 4;
+
+    static final InlineCache MEGAMORPHIC = new InlineCache(null, -1, new Object[0], new IokeObject[0], new int[0], new Object[0]);
+
+    final String name;
+    final int generation;
+    private final Object[] keys;
+    private final IokeObject[] mimics;
+    private final int[] versions;
+    private final Object[] cells;
+
+    private InlineCache(String name, int generation, Object[] keys, IokeObject[] mimics, int[] versions, Object[] cells) {
+        this.name = name;
+        this.generation = generation;
+        this.keys = keys;
+        this.mimics = mimics;
+        this.versions = versions;
+        this.cells = cells;
+    }
+
+    static boolean isShapeKeyed(Body body) {
+        return body.shape != null && body.mimicCount == 1;
+    }
+
+    /**
+     * Returns the cached cell for the body, or null if there is no valid entry.
+     */
+    Object get(String name, Body body, int generation) {
+        if(this.generation != generation || !(this.name == name || name.equals(this.name))) {
+            return null;
+        }
+
+        Object[] ks = keys;
+        if(isShapeKeyed(body)) {
+            Shape shape = body.shape;
+            IokeObject mimic = body.mimic;
+            for(int i = 0, j = ks.length; i < j; i++) {
+                if(ks[i] == shape && mimics[i] == mimic) {
+                    return cells[i];
+                }
+            }
+        } else {
+            for(int i = 0, j = ks.length; i < j; i++) {
+                if(ks[i] == body) {
+                    if(versions[i] == body.version) {
+                        return cells[i];
+                    }
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a new cache that contains the entries of the given cache, if it's still valid,
+     * together with the new entry. Returns MEGAMORPHIC if there is no more room.
+     */
+    static InlineCache add(InlineCache cache, String name, int generation, Body body, int version, Object cell) {
+        if(cache == MEGAMORPHIC) {
+            return cache;
+        }
+
+        Object key = body;
+        IokeObject mimic = null;
+        if(isShapeKeyed(body)) {
+            key = body.shape;
+            mimic = body.mimic;
+        }
+
+        if(cache == null || cache.generation != generation || !(cache.name == name || name.equals(cache.name))) {
+            return new InlineCache(name, generation, new Object[]{key}, new IokeObject[]{mimic}, new int[]{version}, new Object[]{cell});
+        }
+
+        int size = cache.keys.length;
+        int ix = -1;
+        for(int i = 0; i < size; i++) {
+            if(cache.keys[i] == key && cache.mimics[i] == mimic) {
+                ix = i;
+                break;
+            }
+        }
+
+        if(ix == -1) {
+            if(size == MAX_ENTRIES) {
+                return MEGAMORPHIC;
+            }
+            ix = size;
+            size++;
+        }
+
+        Object[] newKeys = new Object[size];
+        IokeObject[] newMimics = new IokeObject[size];
+        int[] newVersions = new int[size];
+        Object[] newCells = new Object[size];
+        System.arraycopy(cache.keys, 0, newKeys, 0, cache.keys.length);
+        System.arraycopy(cache.mimics, 0, newMimics, 0, cache.mimics.length);
+        System.arraycopy(cache.versions, 0, newVersions, 0, cache.versions.length);
+        System.arraycopy(cache.cells, 0, newCells, 0, cache.cells.length);
+        newKeys[ix] = key;
+        newMimics[ix] = mimic;
+        newVersions[ix] = version;
+        newCells[ix] = cell;
+
+        return new InlineCache(name, generation, newKeys, newMimics, newVersions, newCells);
+    }
+}// InlineCache
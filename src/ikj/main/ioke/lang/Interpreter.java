@@ -20,6 +20,16 @@ import ioke.lang.exceptions.ControlFlow;
  */
 public class Interpreter {
     public Object evaluate(IokeObject self, IokeObject ctx, Object ground, Object receiver) throws ControlFlow {
+        return evaluate(self, ctx, ground, receiver, null, 0);
+    }
+
+    /**
+     * Evaluates a chain whose flow control messages can hand back the
+     * signals given in accepts through the activation of frame, instead of
+     * throwing. The evaluation stops as soon as one of them does, and the
+     * caller is responsible for dealing with the signal.
+     */
+    public Object evaluate(IokeObject self, IokeObject ctx, Object ground, Object receiver, IokeObject frame, int accepts) throws ControlFlow {
         Runtime runtime = self.runtime;
         Object current = receiver;
         Object tmp = null;
@@ -32,19 +42,37 @@ public class Interpreter {
             tmp = msg.cached;
             if(tmp != null) {
                 lastReal = current = tmp;
-            } else if((name = msg.name.intern()) == ".") {
-                current = ctx;
-            } else if(name.length() > 0 && msg.arguments.size() == 0 && name.charAt(0) == ':') {
-                lastReal = msg.cached = current = runtime.getSymbol(name.substring(1));
             } else {
-                if((current instanceof IokeObject) || IokeRegistry.isWrapped(current, ctx)) {
-                    IokeObject recv = IokeObject.as(current, ctx);
-                    tmp = perform(recv, recv, ctx, m, name);
-                } else {
-                    tmp = perform(current, IokeRegistry.wrap(current.getClass(), ctx), ctx, m, name);
+                switch(msg.kind()) {
+                case Message.TERMINATOR:
+                    current = ctx;
+                    break;
+                case Message.SYMBOL:
+                    lastReal = msg.cached = current = runtime.getSymbol(msg.name.substring(1));
+                    break;
+                default:
+                    name = msg.name;
+                    boolean control = accepts != 0 && msg.kind() == Message.CONTROL;
+
+                    if(current instanceof IokeObject) {
+                        IokeObject recv = (IokeObject)current;
+                        tmp = control ? performControl(recv, recv, ctx, m, name, frame, accepts) : perform(recv, recv, ctx, m, name);
+                    } else {
+                        IokeObject wrapper = runtime.registry.classWrapperFor(current, m);
+                        if(wrapper == null) {
+                            IokeObject recv = IokeObject.as(current, ctx);
+                            tmp = control ? performControl(recv, recv, ctx, m, name, frame, accepts) : perform(recv, recv, ctx, m, name);
+                        } else {
+                            tmp = control ? performControl(current, wrapper, ctx, m, name, frame, accepts) : perform(current, wrapper, ctx, m, name);
+                        }
+                    }
+
+                    if(control && ((Activation)frame.data).signal != 0) {
+                        return tmp;
+                    }
+
+                    lastReal = current = tmp;
                 }
-
-                lastReal = current = tmp;
             }
             m = Message.next(m);
         }
@@ -73,6 +101,15 @@ public class Interpreter {
         return getEvaluatedArgument(self.getArguments().get(index), context);
     }
 
+    static Object getEvaluatedArgument(IokeObject self, int index, IokeObject context, IokeObject frame, int accepts) throws ControlFlow {
+        Object argument = self.getArguments().get(index);
+        if(accepts == 0 || !(argument instanceof IokeObject) || !((IokeObject)argument).isMessage()) {
+            return getEvaluatedArgument(argument, context);
+        }
+
+        return context.runtime.interpreter.evaluate((IokeObject)argument, context, context.getRealContext(), context, frame, accepts);
+    }
+
     public static List<Object> getEvaluatedArguments(IokeObject self, IokeObject context) throws ControlFlow {
         List<Object> arguments = self.getArguments();
         List<Object> args = new ArrayList<Object>(arguments.size());
@@ -171,11 +208,17 @@ public class Interpreter {
 
 
     public static Object perform(Object obj, IokeObject ctx, IokeObject message) throws ControlFlow {
-        if((obj instanceof IokeObject) || IokeRegistry.isWrapped(obj, ctx)) {
+        if(obj instanceof IokeObject) {
+            IokeObject recv = (IokeObject)obj;
+            return perform(recv, recv, ctx, message, message.getName());
+        }
+
+        IokeObject wrapper = IokeRegistry.classWrapperFor(obj, message, ctx);
+        if(wrapper == null) {
             IokeObject recv = IokeObject.as(obj, ctx);
             return perform(recv, recv, ctx, message, message.getName());
         } else {
-            return perform(obj, IokeRegistry.wrap(obj.getClass(), ctx), ctx, message, message.getName());
+            return perform(obj, wrapper, ctx, message, message.getName());
         }
     }
 
@@ -201,12 +244,102 @@ public class Interpreter {
         return io.isActivatable() || ((io.data instanceof CanRun) && message.getArguments().size() > 0);
     }
 
+    private static Object cachedFindCell(IokeObject message, String name, IokeObject recv) {
+        if(recv.isLexical()) {
+            return lexicalFindCell(name, recv);
+        } else if(!(message.data instanceof Message)) {
+            return IokeObject.findCell(recv, name);
+        }
+
+        Message msg = (Message)message.data;
+        InlineCache cache = msg.inlineCache;
+        Body body = recv.body;
+        int generation = recv.runtime.generations.current(name);
+        int version = body.version;
+        Object cell;
+
+        if(cache != null && (cell = cache.get(name, body, generation)) != null) {
+            return cell;
+        }
+
+        if((cell = body.get(name)) != null) {
+            // cells on the receiver itself are never cached
+            return cell;
+        }
+
+        cell = globalFindCell(name, recv, body, generation, version);
+        if(cache != InlineCache.MEGAMORPHIC) {
+            msg.inlineCache = InlineCache.add(cache, name, generation, body, version, cell);
+        }
+        return cell;
+    }
+
+    private static Object globalFindCell(String name, IokeObject recv, Body body, int generation, int version) {
+        MethodCache global = recv.runtime.methodCache;
+        Object cell = global.get(name, body, generation);
+        if(cell == null) {
+            cell = IokeObject.findCell(recv, name);
+            global.put(name, body, generation, version, cell);
+        }
+        return cell;
+    }
+
+    /**
+     * Looks up a cell through the global method cache only - for lookups
+     * that are not made on behalf of a specific message.
+     */
+    static Object cachedFindCell(String name, IokeObject recv) {
+        if(recv.isLexical()) {
+            return lexicalFindCell(name, recv);
+        }
+
+        Body body = recv.body;
+        int generation = recv.runtime.generations.current(name);
+        int version = body.version;
+        Object cell = body.get(name);
+        if(cell != null) {
+            return cell;
+        }
+        return globalFindCell(name, recv, body, generation, version);
+    }
+
+    /**
+     * Does the same lookup as IokeObject.findCell on a lexical context, but
+     * goes through the global method cache for the mimics of each context
+     * and for the first context that isn't lexical.
+     */
+    private static Object lexicalFindCell(String name, IokeObject recv) {
+        IokeObject nul = recv.runtime.nul;
+        IokeObject c = recv;
+        while(c.isLexical()) {
+            Body b = c.body;
+            Object cell = b.get(name);
+            if(cell == null) {
+                if(b.mimic != null) {
+                    if((cell = cachedFindCell(name, b.mimic)) != nul) {
+                        return cell;
+                    }
+                } else {
+                    for(int i = 0; i < b.mimicCount; i++) {
+                        if((cell = IokeObject.findCell(b.mimics[i], name)) != nul) {
+                            return cell;
+                        }
+                    }
+                }
+            } else if(cell != nul) {
+                return cell;
+            }
+            c = ((LexicalContext)c.data).surroundingContext;
+        }
+        return cachedFindCell(name, c);
+    }
+
     private static Object findCell(IokeObject message, IokeObject ctx, Object obj, String name, IokeObject recv) throws ControlFlow {
         Runtime runtime = ctx.runtime;
-        Object cell = IokeObject.findCell(recv, name);
+        Object cell = cachedFindCell(message, name, recv);
         Object passed = null;
         while(cell == runtime.nul) {
-            if(((cell = passed = IokeObject.findCell(recv, "pass")) != runtime.nul) && isApplicable(passed, message, ctx)) {
+            if(((cell = passed = cachedFindCell("pass", recv)) != runtime.nul) && isApplicable(passed, message, ctx)) {
                 return cell;
             } 
             cell = signalNoSuchCell(message, ctx, obj, name, cell, recv);
@@ -219,8 +352,30 @@ public class Interpreter {
         return getOrActivate(cell, ctx, message, obj);
     }
 
+    /**
+     * Sends a message that is named like one of the flow control methods.
+     * Only if the cell found is one of the flow control natives does it
+     * get to know, through the activation of frame, that it can hand back
+     * the signals in accepts instead of throwing.
+     */
+    private static Object performControl(Object obj, IokeObject recv, IokeObject ctx, IokeObject message, String name, IokeObject frame, int accepts) throws ControlFlow {
+        Object cell = findCell(message, ctx, obj, name, recv);
+        if(!NativeMethod.acceptsSignals(cell)) {
+            return getOrActivate(cell, ctx, message, obj);
+        }
+
+        Activation activation = (Activation)frame.data;
+        activation.site = message;
+        activation.accepts = accepts;
+        try {
+            return getOrActivate(cell, ctx, message, obj);
+        } finally {
+            activation.site = null;
+        }
+    }
+
     private static boolean isApplicable(Object pass, IokeObject message, IokeObject ctx) throws ControlFlow {
-        if(pass != null && pass != ctx.runtime.nul && IokeObject.findCell(IokeObject.as(pass, ctx), "applicable?") != ctx.runtime.nul) {
+        if(pass != null && pass != ctx.runtime.nul && cachedFindCell("applicable?", IokeObject.as(pass, ctx)) != ctx.runtime.nul) {
             return IokeObject.isTrue(Interpreter.send(ctx.runtime.isApplicableMessage, ctx, pass, ctx.runtime.createMessage(Message.wrap(message))));
         }
         return true;
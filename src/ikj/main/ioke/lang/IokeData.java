@@ -125,26 +125,44 @@ public abstract class IokeData {
         return obj;
     }
 
+    /**
+     * Compares self against other the way == would. The builtin == methods
+     * compare in Java directly, so only objects that have their own ==
+     * get the message sent. The lookup goes through the method cache, so
+     * finding out which == applies is cheap for Dict keys and Set members.
+     */
     public final boolean isEqualTo(IokeObject self, Object other) throws ControlFlow {
-        Object cell = IokeObject.findCell(self, "==");
+        Runtime runtime = self.runtime;
+        Object cell = Interpreter.cachedFindCell("==", self);
 
-        if(cell == self.runtime.nul) {
+        if(cell == runtime.nul || cell == runtime.baseEquals) {
             boolean result = (other instanceof IokeObject) && (self.body == IokeObject.as(other, self).body);
             return result;
-        } else {
-            boolean result = IokeObject.isTrue(Interpreter.send(self.runtime.eqMessage, self.runtime.ground, self, self.runtime.createMessage(Message.wrap(IokeObject.as(other, self)))));
-            return result;
+        } else if(cell instanceof IokeObject && ((IokeObject)cell).data instanceof TypeCheckingNativeMethod.Equality) {
+            TypeCheckingNativeMethod.Equality equality = (TypeCheckingNativeMethod.Equality)((IokeObject)cell).data;
+            if(equality.handles(self)) {
+                return equality.isEqual(self, other);
+            }
         }
+
+        boolean result = IokeObject.isTrue(Interpreter.send(runtime.eqMessage, runtime.ground, self, runtime.createMessage(Message.wrap(IokeObject.as(other, self)))));
+        return result;
     }
 
     public final int hashCode(IokeObject self) throws ControlFlow {
-        Object cell = IokeObject.findCell(self, "hash");
+        Runtime runtime = self.runtime;
+        Object cell = Interpreter.cachedFindCell("hash", self);
 
-        if(cell == self.runtime.nul) {
+        if(cell == runtime.nul || cell == runtime.baseHash) {
             return System.identityHashCode(self.body);
-        } else {
-            return Number.extractInt(Interpreter.send(self.runtime.hashMessage, self.runtime.ground, self), self.runtime.hashMessage, self.runtime.ground);
+        } else if(cell instanceof IokeObject && ((IokeObject)cell).data instanceof NativeMethod.Hash) {
+            NativeMethod.Hash hash = (NativeMethod.Hash)((IokeObject)cell).data;
+            if(hash.handles(self)) {
+                return hash.hash(self);
+            }
         }
+
+        return Number.extractInt(Interpreter.send(runtime.hashMessage, runtime.ground, self), runtime.hashMessage, runtime.ground);
     }
 
     public IokeData cloneData(IokeObject obj, IokeObject m, IokeObject context) {return this;}
@@ -110,21 +110,9 @@ public class IokeIO extends IokeData {
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("Prints a text representation of the argument to the current IO object", new TypeCheckingNativeMethod("print") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.io)
-                    .withRequiredPositional("object")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("Prints a text representation of the argument to the current IO object", new TypeCheckingNativeMethod.WithOneArgument("print", runtime.io, "object") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     try {
                         IokeIO.getWriter(on).write(Interpreter.send(context.runtime.asText, context, arg).toString());
                         IokeIO.getWriter(on).flush();
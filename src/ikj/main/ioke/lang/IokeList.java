@@ -6,20 +6,26 @@ package ioke.lang;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Iterator;
 import java.util.HashMap;
 
 import ioke.lang.exceptions.ControlFlow;
+import ioke.lang.util.PersistentVector;
 
 /**
  *
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class IokeList extends IokeData {
+    // lists at least this long are copied with structural sharing
+    private static final int SHARING_THRESHOLD = 32;
+
     private List<Object> list;
+    // true when the list might be shared with a mimic or the object it was mimicked from
+    private boolean shared;
 
     public IokeList() {
         this(new ArrayList<Object>());
@@ -30,11 +36,11 @@ public class IokeList extends IokeData {
     }
 
     public static void add(Object list, Object obj) {
-        ((IokeList)IokeObject.data(list)).list.add(obj);
+        ((IokeList)IokeObject.data(list)).getList().add(obj);
     }
 
     public static void add(Object list, int index, Object obj) {
-        ((IokeList)IokeObject.data(list)).list.add(index, obj);
+        ((IokeList)IokeObject.data(list)).getListForShifting().add(index, obj);
     }
 
     @Override
@@ -47,7 +53,7 @@ public class IokeList extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a hash for the list", new NativeMethod.WithNoArguments("hash") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newNumber(((IokeList)IokeObject.data(on)).list.hashCode());
                 }
             }));
@@ -93,7 +99,7 @@ public class IokeList extends IokeData {
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeObject obj = method.runtime.iteratorSequence.allocateCopy(null, null);
                     obj.singleMimicsWithoutCheck(method.runtime.iteratorSequence);
-                    obj.setData(new Sequence.IteratorSequence(IokeList.getList(on).iterator()));
+                    obj.setData(new Sequence.IteratorSequence(peekList(on).iterator()));
                     return obj;
                 }
             }));
@@ -113,12 +119,12 @@ public class IokeList extends IokeData {
                 @Override
                 public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
 
-                    List<Object> one = IokeList.getList(on);
+                    List<Object> one = peekList(on);
                     Object arg = args.get(0);
                     if(!(IokeObject.data(arg) instanceof IokeList)) {
                         return context.runtime.nil;
                     }
-                    List<Object> two = IokeList.getList(arg);
+                    List<Object> two = peekList(arg);
 
                     int len = Math.min(one.size(), two.size());
                     SpaceshipComparator sc = new SpaceshipComparator(context, message);
@@ -203,40 +209,17 @@ public class IokeList extends IokeData {
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the end of the list, and then returns the list", new TypeCheckingNativeMethod("<<") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("value")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the end of the list, and then returns the list", new TypeCheckingNativeMethod.WithOneArgument("<<", runtime.list, "value") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    IokeList.add(on, args.get(0));
+                public Object activate(IokeObject self, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    IokeList.add(on, arg);
                     return on;
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the end of the list, and then returns the list", new TypeCheckingNativeMethod("append!") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("value")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the end of the list, and then returns the list", new TypeCheckingNativeMethod.WithOneArgument("append!", runtime.list, "value") {
                 @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object value = args.get(0);
+                public Object activate(IokeObject self, Object on, Object value, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeList.add(on, value);
                     return on;
                 }
@@ -244,21 +227,9 @@ public class IokeList extends IokeData {
 
         obj.aliasMethod("append!", "push!", null, null);
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the beginning of the list, and then returns the list", new TypeCheckingNativeMethod("prepend!") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("value")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument and adds it at the beginning of the list, and then returns the list", new TypeCheckingNativeMethod.WithOneArgument("prepend!", runtime.list, "value") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object value = args.get(0);
+                public Object activate(IokeObject self, Object on, Object value, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeList.add(on, 0, value);
                     return on;
                 }
@@ -280,7 +251,7 @@ public class IokeList extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("removes the first element from the list and returns it. returns nil if the list is empty.", new TypeCheckingNativeMethod.WithNoArguments("shift!", runtime.list) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    List<Object> l = ((IokeList)IokeObject.data(on)).getList();
+                    List<Object> l = ((IokeList)IokeObject.data(on)).getListForShifting();
                     if(l.size() == 0) {
                         return context.runtime.nil;
                     }
@@ -299,25 +270,14 @@ public class IokeList extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns true if this list is empty, false otherwise", new TypeCheckingNativeMethod.WithNoArguments("empty?", runtime.list) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return ((IokeList)IokeObject.data(on)).getList().isEmpty() ? context.runtime._true : context.runtime._false;
+                    return peekList(on).isEmpty() ? context.runtime._true : context.runtime._false;
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("returns true if the receiver includes the evaluated argument, otherwise false", new TypeCheckingNativeMethod("include?") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("object")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("returns true if the receiver includes the evaluated argument, otherwise false", new TypeCheckingNativeMethod.WithOneArgument("include?", runtime.list, "object") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return ((IokeList)IokeObject.data(on)).getList().contains(args.get(0)) ? context.runtime._true : context.runtime._false;
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    return peekList(on).contains(arg) ? context.runtime._true : context.runtime._false;
                 }
             }));
 
@@ -335,7 +295,7 @@ public class IokeList extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    ((IokeList)IokeObject.data(on)).getList().addAll(((IokeList)IokeObject.data(args.get(0))).getList());
+                    ((IokeList)IokeObject.data(on)).getList().addAll(peekList(args.get(0)));
                     return on;
                 }
             }));
@@ -354,9 +314,8 @@ public class IokeList extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    List<Object> newList = new ArrayList<Object>();
-                    newList.addAll(((IokeList)IokeObject.data(on)).getList());
-                    newList.addAll(((IokeList)IokeObject.data(args.get(0))).getList());
+                    List<Object> newList = copy(peekList(on));
+                    newList.addAll(peekList(args.get(0)));
                     return context.runtime.newList(newList, IokeObject.as(on, context));
                 }
             }));
@@ -376,8 +335,8 @@ public class IokeList extends IokeData {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     List<Object> newList = new ArrayList<Object>();
-                    newList.addAll(((IokeList)IokeObject.data(on)).getList());
-                    newList.removeAll(((IokeList)IokeObject.data(args.get(0))).getList());
+                    newList.addAll(peekList(on));
+                    newList.removeAll(peekList(args.get(0)));
                     return context.runtime.newList(newList, IokeObject.as(on, context));
                 }
             }));
@@ -387,7 +346,7 @@ public class IokeList extends IokeData {
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     Object newList = IokeObject.mimic(on, message, context);
                     try {
-                        Collections.sort(((IokeList)IokeObject.data(newList)).getList(), new SpaceshipComparator(context, message));
+                        sort(((IokeList)IokeObject.data(newList)).getList(), context, message);
                     } catch(RuntimeException e) {
                         if(e.getCause() instanceof ControlFlow) {
                             throw (ControlFlow)e.getCause();
@@ -402,7 +361,7 @@ public class IokeList extends IokeData {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     try {
-                        Collections.sort(((IokeList)IokeObject.data(on)).getList(), new SpaceshipComparator(context, message));
+                        sortInPlace(on, context, message);
                     } catch(RuntimeException e) {
                         if(e.getCause() instanceof ControlFlow) {
                             throw (ControlFlow)e.getCause();
@@ -416,26 +375,14 @@ public class IokeList extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the size of this list", new TypeCheckingNativeMethod.WithNoArguments("size", runtime.list) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return context.runtime.newNumber(((IokeList)IokeObject.data(on)).getList().size());
+                    return context.runtime.newNumber(peekList(on).size());
                 }
             }));
         obj.aliasMethod("size", "length", null, null);
 
-        obj.registerMethod(runtime.newNativeMethod("takes one argument, the index of the element to be returned. can be negative, and will in that case return indexed from the back of the list. if the index is outside the bounds of the list, will return nil. the argument can also be a range, and will in that case interpret the first index as where to start, and the second the end. the end can be negative and will in that case be from the end. if the first argument is negative, or after the second, an empty list will be returned. if the end point is larger than the list, the size of the list will be used as the end point.", new TypeCheckingNativeMethod("at") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("index")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("takes one argument, the index of the element to be returned. can be negative, and will in that case return indexed from the back of the list. if the index is outside the bounds of the list, will return nil. the argument can also be a range, and will in that case interpret the first index as where to start, and the second the end. the end can be negative and will in that case be from the end. if the first argument is negative, or after the second, an empty list will be returned. if the end point is larger than the list, the size of the list will be used as the end point.", new TypeCheckingNativeMethod.WithOneArgument("at", runtime.list, "index") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
                     if(IokeObject.data(arg) instanceof Range) {
                         int first = Number.extractInt(Range.getFrom(arg), message, context);
@@ -447,7 +394,7 @@ public class IokeList extends IokeData {
                         int last = Number.extractInt(Range.getTo(arg), message, context);
                         boolean inclusive = Range.isInclusive(arg);
 
-                        List<Object> o = ((IokeList)IokeObject.data(on)).getList();
+                        List<Object> o = peekList(on);
                         int size = o.size();
 
                         if(last < 0) {
@@ -478,7 +425,7 @@ public class IokeList extends IokeData {
                         arg = IokeObject.convertToNumber(arg, message, context);
                     }
                     int index = ((Number)IokeObject.data(arg)).asJavaInteger();
-                    List<Object> o = ((IokeList)IokeObject.data(on)).getList();
+                    List<Object> o = peekList(on);
                     if(index < 0) {
                         index = o.size() + index;
                     }
@@ -509,8 +456,7 @@ public class IokeList extends IokeData {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, final IokeObject message) throws ControlFlow {
                     int index = ((Number)IokeObject.data(args.get(0))).asJavaInteger();
-                    List<Object> l = ((IokeList)IokeObject.data(on)).getList();
-                    int size = l.size();
+                    int size = peekList(on).size();
                     if(index < 0) {
                         index = size + index + 1;
                     }
@@ -552,6 +498,8 @@ public class IokeList extends IokeData {
                             }
                         }
 
+                        // fetched after the condition, since a handler can have mimicked the list
+                        List<Object> l = ((IokeList)IokeObject.data(on)).getListForShifting();
                         for(int x = (index-size); x>0; x--) {
                             l.add(context.runtime.nil);
                         }
@@ -562,30 +510,15 @@ public class IokeList extends IokeData {
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("takes two arguments, the index of the element to set, and the value to set. the index can be negative and will in that case set indexed from the end of the list. if the index is larger than the current size, the list will be expanded with nils. an exception will be raised if a abs(negative index) is larger than the size.", new TypeCheckingNativeMethod("at=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.list)
-                    .withRequiredPositional("index")
-                    .withRequiredPositional("value")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("takes two arguments, the index of the element to set, and the value to set. the index can be negative and will in that case set indexed from the end of the list. if the index is larger than the current size, the list will be expanded with nils. an exception will be raised if a abs(negative index) is larger than the size.", new TypeCheckingNativeMethod.WithTwoArguments("at=", runtime.list, "index", "value") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, final IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
-                    Object value = args.get(1);
+                public Object activate(IokeObject method, Object on, Object arg, Object value, final IokeObject context, final IokeObject message) throws ControlFlow {
                     if(!(IokeObject.data(arg) instanceof Number)) {
                         arg = IokeObject.convertToNumber(arg, message, context);
                     }
                     int index = ((Number)IokeObject.data(arg)).asJavaInteger();
-                    List<Object> o = ((IokeList)IokeObject.data(on)).getList();
                     if(index < 0) {
-                        index = o.size() + index;
+                        index = peekList(on).size() + index;
                     }
 
                     while(index < 0) {
@@ -620,10 +553,12 @@ public class IokeList extends IokeData {
 
                         index = newCell[0];
                         if(index < 0) {
-                            index = o.size() + index;
+                            index = peekList(on).size() + index;
                         }
                     }
 
+                    // fetched after the condition, since a handler can have mimicked the list
+                    List<Object> o = ((IokeList)IokeObject.data(on)).getList();
                     if(index >= o.size()) {
                         int toAdd = (index-o.size()) + 1;
                         for(int i=0;i<toAdd;i++) {
@@ -674,7 +609,7 @@ public class IokeList extends IokeData {
                 		}
 
                 		int last = Number.extractInt(Range.getTo(arg), message, context);
-                		List<Object> receiver = getList(on);
+                		List<Object> receiver = getListForShifting(on);
                 		int size = receiver.size();
 
                 		if(last < 0) {
@@ -712,7 +647,7 @@ public class IokeList extends IokeData {
                 	}
 
                 	int index = ((Number)IokeObject.data(arg)).asJavaInteger();
-                	List<Object> receiver = getList(on);
+                	List<Object> receiver = getListForShifting(on);
                 	int size = receiver.size();
 
                 	if(index < 0) {
@@ -747,7 +682,7 @@ public class IokeList extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                	List<Object> receiver = getList(on);
+                	List<Object> receiver = getListForShifting(on);
                 	if(receiver.isEmpty()) {
                 		return emptyList(context);
                 	}
@@ -777,7 +712,7 @@ public class IokeList extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                	List<Object> receiver = getList(on);
+                	List<Object> receiver = getListForShifting(on);
                 	if(receiver.isEmpty()) {
                 		return emptyList(context);
                 	}
@@ -835,7 +770,7 @@ public class IokeList extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    List<Object> list = getList(on);
+                    List<Object> list = peekList(on);
                     String result;
                     if(list.size() == 0) {
                         result = "";
@@ -867,15 +802,17 @@ public class IokeList extends IokeData {
                     Runtime runtime = context.runtime;
                     Object onAsList = context.runtime.list.convertToThis(on, message, context);
 
-                    List<Object> ls = ((IokeList)IokeObject.data(onAsList)).list;
-                    int size = ls.size();
+                    int size = peekList(onAsList).size();
 
+                    // the list is fetched again after running the code, since
+                    // the code can have mimicked it
                     switch(message.getArgumentCount()) {
                     case 1: {
                         IokeObject code = IokeObject.as(message.getArguments().get(0), context);
 
                         for(int i = 0; i<size; i++) {
-                            ls.set(i, runtime.interpreter.evaluate(code, context, context.getRealContext(), ls.get(i)));
+                            Object result = runtime.interpreter.evaluate(code, context, context.getRealContext(), peekList(onAsList).get(i));
+                            getList(onAsList).set(i, result);
                         }
                         break;
                     }
@@ -885,8 +822,9 @@ public class IokeList extends IokeData {
                         IokeObject code = IokeObject.as(message.getArguments().get(1), context);
 
                         for(int i = 0; i<size; i++) {
-                            c.setCell(name, ls.get(i));
-                            ls.set(i, runtime.interpreter.evaluate(code, c, c.getRealContext(), c));
+                            c.setCell(name, peekList(onAsList).get(i));
+                            Object result = runtime.interpreter.evaluate(code, c, c.getRealContext(), c);
+                            getList(onAsList).set(i, result);
                         }
                         break;
                     }
@@ -915,16 +853,18 @@ public class IokeList extends IokeData {
                     Runtime runtime = context.runtime;
                     Object onAsList = context.runtime.list.convertToThis(on, message, context);
 
-                    List<Object> ls = ((IokeList)IokeObject.data(onAsList)).list;
-
+                    // the list is fetched again after running the code, since
+                    // the code can have mimicked it
                     switch(message.getArgumentCount()) {
                     case 1: {
                         IokeObject code = IokeObject.as(message.getArguments().get(0), context);
 
-                        for(Iterator<Object> iter = ls.iterator(); iter.hasNext();) {
-                            Object obj = iter.next();
+                        for(int i = 0; i < peekList(onAsList).size();) {
+                            Object obj = peekList(onAsList).get(i);
                             if(IokeObject.isTrue(runtime.interpreter.evaluate(code, context, context.getRealContext(), obj))) {
-                                iter.remove();
+                                getListForShifting(onAsList).remove(i);
+                            } else {
+                                i++;
                             }
                         }
                         break;
@@ -934,11 +874,12 @@ public class IokeList extends IokeData {
                         String name = IokeObject.as(message.getArguments().get(0), context).getName();
                         IokeObject code = IokeObject.as(message.getArguments().get(1), context);
 
-                        for(Iterator<Object> iter = ls.iterator(); iter.hasNext();) {
-                            Object obj = iter.next();
-                            c.setCell(name, obj);
+                        for(int i = 0; i < peekList(onAsList).size();) {
+                            c.setCell(name, peekList(onAsList).get(i));
                             if(IokeObject.isTrue(runtime.interpreter.evaluate(code, c, c.getRealContext(), c))) {
-                                iter.remove();
+                                getListForShifting(onAsList).remove(i);
+                            } else {
+                                i++;
                             }
                         }
                         break;
@@ -959,7 +900,7 @@ public class IokeList extends IokeData {
     private static void flatten(List<Object> list, List<Object> result) {
         for(Object l : list) {
             if(l instanceof IokeObject && IokeObject.data(l) instanceof IokeList) {
-                flatten(getList(l), result);
+                flatten(peekList(l), result);
             } else {
                 result.add(l);
             }
@@ -971,7 +912,7 @@ public class IokeList extends IokeData {
         for(Object o : list) {
             sb.append(realSep);
             if(o instanceof IokeObject && IokeObject.data(o) instanceof IokeList) {
-                join(getList(o), sb, sep, asText, context);
+                join(peekList(o), sb, sep, asText, context);
             } else {
                 sb.append(Text.getText(Interpreter.send(asText, context, o)));
             }
@@ -983,18 +924,53 @@ public class IokeList extends IokeData {
         list.add(obj);
     }
 
+    /**
+     * Returns the list, first copying it if it's shared with another
+     * list object, so that the caller is free to modify it.
+     */
     public List<Object> getList() {
+        if(shared) {
+            list = copy(list);
+            shared = false;
+        }
         return list;
     }
 
+    /**
+     * Returns the list for a change that inserts or removes elements
+     * anywhere but at the end. A PersistentVector can only do that by
+     * rebuilding itself, so it's moved over to an ArrayList first.
+     */
+    public List<Object> getListForShifting() {
+        List<Object> l = getList();
+        if(l instanceof PersistentVector) {
+            l = new ArrayList<Object>(l);
+            list = l;
+        }
+        return l;
+    }
+
+    public static List<Object> getListForShifting(Object on) {
+        return ((IokeList)(IokeObject.data(on))).getListForShifting();
+    }
+
     public void setList(List<Object> list) {
         this.list = list;
+        this.shared = false;
     }
 
     public static List<Object> getList(Object on) {
         return ((IokeList)(IokeObject.data(on))).getList();
     }
 
+    /**
+     * Returns the list without copying it when it's shared. The result
+     * must not be modified.
+     */
+    public static List<Object> peekList(Object on) {
+        return ((IokeList)(IokeObject.data(on))).list;
+    }
+
     public static void setList(Object on, List<Object> list) {
         ((IokeList)(IokeObject.data(on))).setList(list);
     }
@@ -1015,8 +991,57 @@ public class IokeList extends IokeData {
     	return context.runtime.newList(new ArrayList<Object>(orig));
     }
 
+    private static void sort(List<Object> list, IokeObject context, IokeObject message) {
+        if(!((list instanceof NumberList) && ((NumberList)list).sortNumbers())) {
+            Collections.sort(list, new SpaceshipComparator(context, message));
+        }
+    }
+
+    /**
+     * Sorts the list of the object. Sending <=> can mimic the list, so
+     * the elements are sorted in an array of their own, and the list is
+     * fetched again to put them back.
+     */
+    private static void sortInPlace(Object on, IokeObject context, IokeObject message) {
+        List<Object> list = getList(on);
+        if((list instanceof NumberList) && ((NumberList)list).sortNumbers()) {
+            return;
+        }
+        Object[] elements = list.toArray();
+        Arrays.sort(elements, new SpaceshipComparator(context, message));
+        list = getList(on);
+        if(list.size() != elements.length) {
+            throw new ConcurrentModificationException();
+        }
+        for(int i = 0; i < elements.length; i++) {
+            list.set(i, elements[i]);
+        }
+    }
+
+    /**
+     * Copies the list for a new list object. Long lists are copied into a
+     * PersistentVector, and copying one of those shares its structure, so
+     * building a list up with + or by mimicking doesn't copy all of it
+     * every time. Lists of unboxed numbers stay unboxed.
+     */
+    static List<Object> copy(List<Object> list) {
+        if((list instanceof NumberList) && ((NumberList)list).keepsNumbers()) {
+            return new NumberList(list);
+        }
+        if(list instanceof PersistentVector || list.size() >= SHARING_THRESHOLD) {
+            return new PersistentVector<Object>(list);
+        }
+        return new ArrayList<Object>(list);
+    }
+
+    /**
+     * The new list shares the elements with this one, and whichever of
+     * them is modified first copies them.
+     */
     public IokeData cloneData(IokeObject obj, IokeObject m, IokeObject context) {
-        return new IokeList(new ArrayList<Object>(list));
+        IokeList clone = new IokeList(list);
+        clone.shared = shared = true;
+        return clone;
     }
 
     @Override
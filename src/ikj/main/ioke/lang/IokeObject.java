@@ -27,6 +27,7 @@ public final class IokeObject implements TypeChecker {
     public static final int ACTIVATABLE_F = 1 << 3;
     public static final int HAS_ACTIVATABLE_F = 1 << 4;
     public static final int LEXICAL_F = 1 << 5;
+    public static final int MIMICKED_F = 1 << 6;
 
     public final boolean isNil() {
         return (body.flags & NIL_F) != 0;
@@ -105,9 +106,15 @@ public final class IokeObject implements TypeChecker {
     public void become(IokeObject other, IokeObject message, IokeObject context) throws ControlFlow {
         checkFrozen("become!", message, context);
 
+        boolean mimicked = (this.body.flags & MIMICKED_F) != 0;
+        this.runtime.generations.changedAll();
         this.runtime = other.runtime;
         this.data = other.data;
         this.body = other.body;
+        if(mimicked) {
+            markMimicked(this);
+        }
+        this.runtime.generations.changedAll();
     }
 
     public void init() throws ControlFlow {
@@ -198,6 +205,7 @@ public final class IokeObject implements TypeChecker {
             }
             break;
         }
+        body.changed();
     }
 
     public static void removeMimic(Object on, Object other, IokeObject message, IokeObject context) throws ControlFlow {
@@ -231,6 +239,7 @@ public final class IokeObject implements TypeChecker {
 
         me.body.mimic = null;
         me.body.mimics = null;
+        me.body.changed();
     }
 
     public static Object getRealContext(Object o) {
@@ -638,6 +647,15 @@ public final class IokeObject implements TypeChecker {
         body.put(name, value);
     }
 
+    /**
+     * Used by loops that keep setting the same cell. Works like
+     * setCell, but takes and returns a slot that makes the next call
+     * faster. Start out with -1.
+     */
+    final int setCell(int slot, String name, Object value) {
+        return body.put(slot, name, value);
+    }
+
     public static void assign(Object on, String name, Object value, IokeObject context, IokeObject message) throws ControlFlow {
         as(on, context).assign(name, value, context, message);
     }
@@ -713,7 +731,20 @@ public final class IokeObject implements TypeChecker {
         addMimic(body.mimicCount, mimic);
     }
 
+    private static void markMimicked(IokeObject mimic) {
+        IokeObject current = mimic;
+        while((current.body.flags & MIMICKED_F) == 0) {
+            current.body.flags |= MIMICKED_F;
+            current.body.generations = current.runtime.generations;
+            if(!current.isLexical()) {
+                break;
+            }
+            current = ((LexicalContext)current.data).surroundingContext;
+        }
+    }
+
     private void addMimic(int at, IokeObject mimic) {
+        markMimicked(mimic);
         switch(body.mimicCount) {
         case 0:
             body.mimic = mimic;
@@ -763,11 +794,14 @@ public final class IokeObject implements TypeChecker {
             }
             break;
         }
+        body.changed();
     }
 
     public void singleMimicsWithoutCheck(IokeObject mimic) {
+        markMimicked(mimic);
         body.mimic = mimic;
         body.mimicCount = 1;
+        body.changed();
         transplantActivation(mimic);
     }
 
@@ -789,8 +823,10 @@ public final class IokeObject implements TypeChecker {
         checkFrozen("mimic!", message, context);
 
         mimic.data.checkMimic(mimic, message, context);
+        markMimicked(mimic);
         body.mimic = mimic;
         body.mimicCount = 1;
+        body.changed();
         transplantActivation(mimic);
         if(mimic.body.hooks != null) {
             Hook.fireMimicked(mimic, message, context, this);
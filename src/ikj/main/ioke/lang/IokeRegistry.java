@@ -26,6 +26,32 @@ public class IokeRegistry {
         .weakValues()
         .makeMap();
 
+    // the classes that have at least one instance with a wrapper of its own.
+    // sends to instances of any other class can always use the class wrapper
+    private final Map<Class, Boolean> classesWithWrappedInstances = new MapMaker()
+        .weakKeys()
+        .makeMap();
+
+    // changed every time a class gets added above, or the wrapper of a class is replaced
+    private volatile int sendSiteStamp = 0;
+
+    /**
+     * Remembers which class wrapper a message used the last time it was
+     * sent to a Java object, so that the registry maps don't have to be
+     * consulted on every send.
+     */
+    static final class SendSite {
+        final Class type;
+        final IokeObject wrapper;
+        final int stamp;
+
+        SendSite(Class type, IokeObject wrapper, int stamp) {
+            this.type = type;
+            this.wrapper = wrapper;
+            this.stamp = stamp;
+        }
+    }
+
     public IokeRegistry(final Runtime runtime) {
         this.runtime = runtime;
     }
@@ -37,9 +63,53 @@ public class IokeRegistry {
     private void makeWrapped(Object on, IokeObject wrapped) {
         if(on != null && !(on instanceof Boolean)) {
             wrappedObjects.put(on, wrapped);
+            instanceWrapped(on);
+            if(on instanceof Class) {
+                synchronized(this) {
+                    sendSiteStamp++;
+                }
+            }
+        }
+    }
+
+    private void instanceWrapped(Object on) {
+        Class type = on.getClass();
+        if(!classesWithWrappedInstances.containsKey(type)) {
+            synchronized(this) {
+                if(!classesWithWrappedInstances.containsKey(type)) {
+                    classesWithWrappedInstances.put(type, Boolean.TRUE);
+                    sendSiteStamp++;
+                }
+            }
         }
     }
 
+    /**
+     * Returns the wrapper of the class of a Java object that the message is
+     * sent to, or null if the object has a wrapper of its own that should
+     * be used instead.
+     */
+    public IokeObject classWrapperFor(Object on, IokeObject message) {
+        Class type = on.getClass();
+        Message m = (Message)message.data;
+        SendSite site = m.sendSite;
+        int stamp = sendSiteStamp;
+        if(site != null && site.type == type && site.stamp == stamp) {
+            return site.wrapper;
+        }
+
+        if(classesWithWrappedInstances.containsKey(type)) {
+            if(wrappedObjects.containsKey(on)) {
+                return null;
+            }
+            return wrap(type);
+        }
+
+        IokeObject wrapper = wrap(type);
+        m.sendSite = new SendSite(type, wrapper, stamp);
+        return wrapper;
+    }
+
     public IokeObject wrap(Object on) {
         if(on == null) {
             return runtime.nil;
@@ -50,6 +120,7 @@ public class IokeRegistry {
         if(!wrappedObjects.containsKey(on)) {
             IokeObject val = runtime.createJavaWrapper(on);
             wrappedObjects.put(on, val);
+            instanceWrapped(on);
             return val;
         }
 
@@ -64,6 +135,7 @@ public class IokeRegistry {
         if(!wrappedObjects.containsKey(on)) {
             IokeObject val = runtime.createIntegratedJavaWrapper(on);
             wrappedObjects.put(on, val);
+            instanceWrapped(on);
             return val;
         }
 
@@ -78,6 +150,10 @@ public class IokeRegistry {
         return context.runtime.registry.isWrapped(on);
     }
 
+    public static IokeObject classWrapperFor(Object on, IokeObject message, IokeObject context) {
+        return context.runtime.registry.classWrapperFor(on, message);
+    }
+
     public static IokeObject wrap(Object on, IokeObject context) {
         return context.runtime.registry.wrap(on);
     }
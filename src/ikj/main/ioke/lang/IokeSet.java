@@ -3,7 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Map;
@@ -12,13 +11,21 @@ import java.util.Set;
 
 import ioke.lang.exceptions.ControlFlow;
 import ioke.lang.util.IdentitySet;
+import ioke.lang.util.PersistentHashSet;
 
 /**
  *
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class IokeSet extends IokeData {
+    // sets at least this large are copied with structural sharing
+    private static final int SHARING_THRESHOLD = 32;
+
     private Set<Object> set;
+    // true when the set might be shared with a mimic or the object it was mimicked from
+    private boolean shared;
+    // the number of adds and removes running, since they can send hash and == to elements
+    private int changing;
 
     public IokeSet() {
         this(new HashSet<Object>());
@@ -38,7 +45,7 @@ public class IokeSet extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a hash for the set", new NativeMethod.WithNoArguments("hash") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newNumber(((IokeSet)IokeObject.data(on)).set.hashCode());
                 }
             }));
@@ -78,6 +85,7 @@ public class IokeSet extends IokeData {
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeSet set = (IokeSet)IokeObject.data(on);
                     set.set = new IdentitySet<Object>(set.set);
+                    set.shared = false;
                     return on;
                 }
             }));
@@ -92,44 +100,22 @@ public class IokeSet extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("returns true if this set is empty, false otherwise", new TypeCheckingNativeMethod.WithNoArguments("empty?", runtime.set) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return ((IokeSet)IokeObject.data(on)).getSet().isEmpty() ? context.runtime._true : context.runtime._false;
+                    return peekSet(on).isEmpty() ? context.runtime._true : context.runtime._false;
                 }
             }));
 
-        obj.registerMethod(obj.runtime.newNativeMethod("Adds the argument to this set, if it's not already in the set. Returns the set after adding the object.", new TypeCheckingNativeMethod("<<") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.set)
-                    .withRequiredPositional("value")
-                    .getArguments();
-
+        obj.registerMethod(obj.runtime.newNativeMethod("Adds the argument to this set, if it's not already in the set. Returns the set after adding the object.", new TypeCheckingNativeMethod.WithOneArgument("<<", runtime.set, "value") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    ((IokeSet)IokeObject.data(on)).set.add(args.get(0));
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    ((IokeSet)IokeObject.data(on)).add(arg);
                     return on;
                 }
             }));
 
-        obj.registerMethod(obj.runtime.newNativeMethod("Removes the argument from the set, if it's in the set. Returns the set after removing the object.", new TypeCheckingNativeMethod("remove!") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.set)
-                    .withRequiredPositional("value")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(obj.runtime.newNativeMethod("Removes the argument from the set, if it's in the set. Returns the set after removing the object.", new TypeCheckingNativeMethod.WithOneArgument("remove!", runtime.set, "value") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    ((IokeSet)IokeObject.data(on)).set.remove(args.get(0));
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    ((IokeSet)IokeObject.data(on)).remove(arg);
                     return on;
                 }
             }));
@@ -148,9 +134,8 @@ public class IokeSet extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Set<Object> newSet = new HashSet<Object>();
-                    newSet.addAll(((IokeSet)IokeObject.data(on)).getSet());
-                    newSet.addAll(((IokeSet)IokeObject.data(args.get(0))).getSet());
+                    Set<Object> newSet = copy(peekSet(on));
+                    newSet.addAll(peekSet(args.get(0)));
                     return context.runtime.newSet(newSet);
                 }
             }));
@@ -170,8 +155,8 @@ public class IokeSet extends IokeData {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     Set<Object> newSet = new HashSet<Object>();
-                    newSet.addAll(((IokeSet)IokeObject.data(on)).getSet());
-                    newSet.retainAll(((IokeSet)IokeObject.data(args.get(0))).getSet());
+                    newSet.addAll(peekSet(on));
+                    newSet.retainAll(peekSet(args.get(0)));
                     return context.runtime.newSet(newSet);
                 }
             }));
@@ -190,7 +175,7 @@ public class IokeSet extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    boolean result = ((IokeSet)IokeObject.data(args.get(0))).getSet().containsAll(((IokeSet)IokeObject.data(on)).getSet());
+                    boolean result = peekSet(args.get(0)).containsAll(peekSet(on));
                     return result ? context.runtime._true : context.runtime._false;
                 }
             }));
@@ -209,8 +194,8 @@ public class IokeSet extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Set<Object> one = ((IokeSet)IokeObject.data(args.get(0))).getSet();
-                    Set<Object> two = ((IokeSet)IokeObject.data(on)).getSet();
+                    Set<Object> one = peekSet(args.get(0));
+                    Set<Object> two = peekSet(on);
                     boolean result = one.containsAll(two);
                     return (result && two.size() < one.size()) ? context.runtime._true : context.runtime._false;
                 }
@@ -230,7 +215,7 @@ public class IokeSet extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    boolean result = ((IokeSet)IokeObject.data(on)).getSet().containsAll(((IokeSet)IokeObject.data(args.get(0))).getSet());
+                    boolean result = peekSet(on).containsAll(peekSet(args.get(0)));
                     return result ? context.runtime._true : context.runtime._false;
                 }
             }));
@@ -249,28 +234,17 @@ public class IokeSet extends IokeData {
 
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Set<Object> one = ((IokeSet)IokeObject.data(args.get(0))).getSet();
-                    Set<Object> two = ((IokeSet)IokeObject.data(on)).getSet();
+                    Set<Object> one = peekSet(args.get(0));
+                    Set<Object> two = peekSet(on);
                     boolean result = two.containsAll(one);
                     return (result && two.size() > one.size()) ? context.runtime._true : context.runtime._false;
                 }
             }));
 
-        obj.registerMethod(obj.runtime.newNativeMethod("returns true if the receiver includes the evaluated argument, otherwise false", new TypeCheckingNativeMethod("include?") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.set)
-                    .withRequiredPositional("object")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(obj.runtime.newNativeMethod("returns true if the receiver includes the evaluated argument, otherwise false", new TypeCheckingNativeMethod.WithOneArgument("include?", runtime.set, "object") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    return ((IokeSet)IokeObject.data(on)).getSet().contains(args.get(0)) ? context.runtime._true : context.runtime._false;
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+                    return peekSet(on).contains(arg) ? context.runtime._true : context.runtime._false;
                 }
             }));
 
@@ -279,7 +253,7 @@ public class IokeSet extends IokeData {
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
                     IokeObject obj = method.runtime.iteratorSequence.allocateCopy(null, null);
                     obj.singleMimicsWithoutCheck(method.runtime.iteratorSequence);
-                    obj.setData(new Sequence.IteratorSequence(((IokeSet)IokeObject.data(on)).set.iterator()));
+                    obj.setData(new Sequence.IteratorSequence(peekSet(on).iterator()));
                     return obj;
                 }
             }));
@@ -302,7 +276,7 @@ public class IokeSet extends IokeData {
                     getArguments().checkArgumentCount(context, message, on);
 
                     Object onAsSet = context.runtime.set.convertToThis(on, message, context);
-                    Set<Object> set = ((IokeSet)IokeObject.data(onAsSet)).set;
+                    Set<Object> set = peekSet(onAsSet);
 
                     switch(message.getArgumentCount()) {
                     case 0: {
@@ -348,12 +322,78 @@ public class IokeSet extends IokeData {
             }));
     }
 
+    /**
+     * Returns the set, first copying it if it's shared with another set
+     * object, so that the caller is free to modify it.
+     */
     public Set<Object> getSet() {
+        if(shared) {
+            set = copy(set);
+            shared = false;
+        }
         return set;
     }
 
+    /**
+     * Adds the element to the set. Finding the element can send hash and
+     * == to it, and a set mimicked from there gets its own copy of the
+     * elements right away, since they are changed after that.
+     */
+    public boolean add(Object element) {
+        Set<Object> set = getSet();
+        changing++;
+        try {
+            return set.add(element);
+        } finally {
+            changing--;
+        }
+    }
+
+    /**
+     * Removes the element from the set, the same way as add.
+     */
+    public boolean remove(Object element) {
+        Set<Object> set = getSet();
+        changing++;
+        try {
+            return set.remove(element);
+        } finally {
+            changing--;
+        }
+    }
+
+    /**
+     * Returns the set without copying it when it's shared. The result
+     * must not be modified.
+     */
+    static Set<Object> peekSet(Object on) {
+        return ((IokeSet)IokeObject.data(on)).set;
+    }
+
+    /**
+     * Copies the set for a new set object. Large sets are copied into a
+     * PersistentHashSet, and copying one of those shares its structure.
+     */
+    static Set<Object> copy(Set<Object> set) {
+        if(set instanceof PersistentHashSet || set.size() >= SHARING_THRESHOLD) {
+            return new PersistentHashSet<Object>(set);
+        }
+        return new HashSet<Object>(set);
+    }
+
+    /**
+     * The new set shares the elements with this one, and whichever of
+     * them is modified first copies them. Identity sets are still copied
+     * into ordinary sets right away, and so is a set that an add or
+     * remove is running on.
+     */
     public IokeData cloneData(IokeObject obj, IokeObject m, IokeObject context) {
-        return new IokeSet(new HashSet<Object>(set));
+        if(set instanceof IdentitySet || changing > 0) {
+            return new IokeSet(copy(set));
+        }
+        IokeSet clone = new IokeSet(set);
+        clone.shared = shared = true;
+        return clone;
     }
 
     @Override
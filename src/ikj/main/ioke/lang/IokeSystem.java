@@ -464,7 +464,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the current file executing", new NativeMethod.WithNoArguments("currentFile") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return runtime.newText(((IokeSystem)IokeObject.data(on)).currentFile.get(0));
                 }
             }));
@@ -472,7 +472,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns true if running on windows, otherwise false", new NativeMethod.WithNoArguments("windows?") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return DOSISH ? runtime._true : runtime._false;
                 }
@@ -481,7 +481,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the current load path", new NativeMethod.WithNoArguments("loadPath") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((IokeSystem)IokeObject.data(on)).loadPath;
                 }
             }));
@@ -489,7 +489,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a random number", new NativeMethod.WithNoArguments("randomNumber") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newNumber(((IokeSystem)IokeObject.data(on)).random.nextInt());
                 }
@@ -498,7 +498,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the current directory that the code is executing in", new NativeMethod.WithNoArguments("currentDirectory") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     String name = Message.file(message);
                     File f = null;
                     if(isAbsoluteFileName(name)) {
@@ -518,7 +518,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the current working directory", new NativeMethod.WithNoArguments("currentWorkingDirectory") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newText(context.runtime.getCurrentWorkingDirectory());
                 }
             }));
@@ -526,7 +526,7 @@ public class IokeSystem extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the host name of the local machine", new NativeMethod.WithNoArguments("hostName") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     String tt;
                     try {
                         tt = java.net.InetAddress.getLocalHost().getHostName();
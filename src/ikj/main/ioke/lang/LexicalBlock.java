@@ -18,12 +18,17 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
     private ArgumentsDefinition arguments;
     private IokeObject context;
     private IokeObject message;
+    // the number of cells an activation adds to its context, besides the kind
+    private int contextCells;
 
     public LexicalBlock(IokeObject context, ArgumentsDefinition arguments, IokeObject message) {
         super(IokeData.TYPE_LEXICAL_BLOCK);
         this.context = context;
         this.arguments = arguments;
         this.message = message;
+        if(arguments != null) {
+            this.contextCells = arguments.getArguments().size() + (arguments.getRestName() == null ? 0 : 1) + (arguments.getKrestName() == null ? 0 : 1);
+        }
     }
 
     public LexicalBlock(IokeObject context) {
@@ -91,7 +96,7 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns the full code of this lexical block, as a Text", new NativeMethod.WithNoArguments("code") {
                 @Override
                 public Object activate(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(dynamicContext, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(dynamicContext, message, on);
                     IokeObject obj = IokeObject.as(on, dynamicContext);
                     String x = obj.isActivatable() ? "x" : "";
 
@@ -103,7 +108,7 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns the code for the argument definition", new NativeMethod.WithNoArguments("argumentsCode") {
                 @Override
                 public Object activate(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(dynamicContext, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(dynamicContext, message, on);
                     return dynamicContext.runtime.newText(((AssociatedCode)IokeObject.data(on)).getArgumentsCode());
                 }
             }));
@@ -111,7 +116,7 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns a list of the keywords this block takes", new NativeMethod.WithNoArguments("keywords") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     List<Object> keywords = new ArrayList<Object>();
 
                     for(String keyword : ((LexicalBlock)IokeObject.data(on)).arguments.getKeywords()) {
@@ -125,7 +130,7 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns a list of the argument names the positional arguments this block takes", new NativeMethod.WithNoArguments("argumentNames") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     List<Object> names = new ArrayList<Object>();
 
                     for(DefaultArgumentsDefinition.Argument arg :  ((LexicalBlock)IokeObject.data(on)).arguments.getArguments()) {
@@ -141,28 +146,28 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns the message chain for this block", new NativeMethod.WithNoArguments("message") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((AssociatedCode)IokeObject.data(on)).getCode();
                 }
             }));
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("Returns a text inspection of the object", new NativeMethod.WithNoArguments("inspect") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newText(LexicalBlock.getInspect(on));
                 }
             }));
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("Returns a brief text inspection of the object", new NativeMethod.WithNoArguments("notice") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newText(LexicalBlock.getNotice(on));
                 }
             }));
         lexicalBlock.registerMethod(lexicalBlock.runtime.newNativeMethod("returns idiomatically formatted code for this lexical block", new NativeMethod.WithNoArguments("formattedCode") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newText(((AssociatedCode)IokeObject.data(on)).getFormattedCode(self));
                 }
             }));
@@ -170,7 +175,7 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
 
     public static Object activateWithCallAndDataFixed(final IokeObject self, IokeObject dynamicContext, IokeObject message, Object on, Object call, Map<String, Object> data) throws ControlFlow {
         LexicalBlock lb = (LexicalBlock)self.data;
-        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context);
+        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context, lb.contextCells + data.size());
 
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
@@ -183,14 +188,14 @@ public class LexicalBlock extends IokeData implements AssociatedCode {
 
     public static Object activateFixed(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
         LexicalBlock lb = (LexicalBlock)self.data;
-        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context);
+        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context, lb.contextCells);
         lb.arguments.assignArgumentValues(c, dynamicContext, message, on);
         return self.runtime.interpreter.evaluate(lb.message, c, on, c);
     }
 
     public static Object activateWithDataFixed(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on, Map<String, Object> data) throws ControlFlow {
         LexicalBlock lb = (LexicalBlock)self.data;
-        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context);
+        IokeObject c = self.runtime.newLexicalContext(on, "Lexical activation context", lb.context, lb.contextCells + data.size());
 
         for(Map.Entry<String, Object> d : data.entrySet()) {
             String s = d.getKey();
@@ -4,8 +4,6 @@
 package ioke.lang;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
 
 import ioke.lang.exceptions.ControlFlow;
@@ -57,7 +55,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("returns the name of the lecro", new NativeMethod.WithNoArguments("name") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(((LexicalMacro)IokeObject.data(on)).name);
                 }
@@ -81,7 +79,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("returns the message chain for this lecro", new NativeMethod.WithNoArguments("message") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return ((AssociatedCode)IokeObject.data(on)).getCode();
                 }
@@ -89,7 +87,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("returns the code for the argument definition", new NativeMethod.WithNoArguments("argumentsCode") {
                 @Override
                 public Object activate(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(dynamicContext, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(dynamicContext, message, on);
 
                     return dynamicContext.runtime.newText(((AssociatedCode)IokeObject.data(on)).getArgumentsCode());
                 }
@@ -97,7 +95,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a text inspection of the object", new NativeMethod.WithNoArguments("inspect") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(LexicalMacro.getInspect(on));
                 }
@@ -105,7 +103,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a brief text inspection of the object", new NativeMethod.WithNoArguments("notice") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(LexicalMacro.getNotice(on));
                 }
@@ -113,7 +111,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("returns the full code of this lecro, as a Text", new NativeMethod.WithNoArguments("code") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     IokeData data = IokeObject.data(on);
                     if(data instanceof LexicalMacro) {
@@ -126,7 +124,7 @@ public class LexicalMacro extends IokeData implements AssociatedCode, Named, Ins
         obj.registerMethod(obj.runtime.newNativeMethod("returns idiomatically formatted code for this lecro", new NativeMethod.WithNoArguments("formattedCode") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(((AssociatedCode)IokeObject.data(on)).getFormattedCode(self));
                 }
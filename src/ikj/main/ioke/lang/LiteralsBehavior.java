@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.HashSet;
 
 import ioke.lang.exceptions.ControlFlow;
+import ioke.lang.util.OpenHashMap;
 
 /**
  *
@@ -114,7 +115,7 @@ public class LiteralsBehavior {
                     getArguments().checkArgumentCount(context, message, on);
 
                     List<Object> arguments = message.getArguments();
-                    Map<Object, Object> moo = new HashMap<Object, Object>(arguments.size());
+                    Map<Object, Object> moo = new OpenHashMap<Object, Object>(arguments.size());
 
                     for(Object o : arguments) {
                         Object key, value;
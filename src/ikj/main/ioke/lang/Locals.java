@@ -12,6 +12,38 @@ import ioke.lang.exceptions.ControlFlow;
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class Locals {
+    private static final String[] FRAME_CELLS = {"self", "@", "@@", "currentMessage", "surroundingContext"};
+    private static final Shape FRAME_SHAPE = Shape.of(FRAME_CELLS);
+
+    /**
+     * Creates the Locals for an activation of code, by mimicking Locals. The
+     * standard cells are put in place in one go instead of one at a time, and
+     * the body gets room for extraCells more cells, so that assigning the
+     * arguments doesn't have to grow it.
+     */
+    static IokeObject newFrame(IokeObject code, IokeObject context, IokeObject message, Object on, int extraCells) throws ControlFlow {
+        Runtime runtime = context.runtime;
+        IokeObject c = runtime.locals.mimic(message, context);
+        c.setData(new Activation(code, context, message, on));
+        // a hook on Locals can already have given it cells of its own
+        if(Body.USE_SHAPES && FRAME_SHAPE != null && c.body.isEmpty()) {
+            Object[] values = new Object[FRAME_CELLS.length + extraCells];
+            values[0] = on;
+            values[1] = on;
+            values[2] = runtime.currentCode;
+            values[3] = message;
+            values[4] = context;
+            c.body.initCells(FRAME_SHAPE, values);
+        } else {
+            c.setCell("self", on);
+            c.setCell("@", on);
+            c.setCell("@@", runtime.currentCode);
+            c.setCell("currentMessage", message);
+            c.setCell("surroundingContext", context);
+        }
+        return c;
+    }
+
     public static void init(IokeObject obj) throws ControlFlow {
         obj.setKind("Locals");
         obj.body.mimicCount = 0;
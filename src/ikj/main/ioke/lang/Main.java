@@ -28,6 +28,7 @@ public class Main {
         "                 there can be many of these provided on the same command line.\n" +
         " -h, --help      help, this message\n" +
         " -Idir           add directory to 'System loadPath'. May be used more than once\n" +
+        " -Xfloat         decimal literals are double precision floating point numbers instead of exact\n" +
         " --copyright     print the copyright\n" +
         " --version       print current version\n";
 
@@ -36,6 +37,7 @@ public class Main {
         boolean debug = false;
         String cwd = null;
         boolean coverage = false;
+        boolean floatDecimals = false;
         String argError = null;
         List<String> scripts = new ArrayList<String>();
         List<String> loadDirs = new ArrayList<String>();
@@ -70,6 +72,8 @@ public class Main {
                     } else if(arg.equals("-h") || arg.equals("--help")) {
                         System.err.print(HELP);
                         return;
+                    } else if(arg.equals("-Xfloat")) {
+                        floatDecimals = true;
                     } else if(arg.equals("-c") || arg.equals("--coverage")) {
                         coverage = true;
                     } else if(arg.equals("--version")) {
@@ -114,6 +118,10 @@ public class Main {
                 r.debug = true;
             }
 
+            if(floatDecimals) {
+                r.floatDecimals = true;
+            }
+
             if(argError != null) {
                 final IokeObject condition = IokeObject.as(IokeObject.getCellChain(r.condition,
                                                                                    message,
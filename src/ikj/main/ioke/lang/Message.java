@@ -33,6 +33,31 @@ public class Message extends IokeData {
 
     public Object cached = null;
 
+    /**
+     * What the interpreter should do with a message that has no cached value.
+     * Worked out the first time it's needed, since the arguments of a message
+     * are usually added after it has been created, and again whenever the
+     * number of arguments has changed since - the arguments list can be
+     * changed in place from Ioke.
+     */
+    public static final byte UNCLASSIFIED = 0;
+    public static final byte SEND = 1;
+    public static final byte TERMINATOR = 2;
+    public static final byte SYMBOL = 3;
+    // a send named like one of the flow control methods that can hand
+    // back a signal instead of throwing - see Activation
+    public static final byte CONTROL = 4;
+
+    private byte kind = UNCLASSIFIED;
+    private int kindArgumentCount;
+
+    InlineCache inlineCache = null;
+    IokeRegistry.SendSite sendSite = null;
+
+    // the renamed copy made by the last resend of this message, reused
+    // as long as it still looks like the message it was copied from
+    private IokeObject resent = null;
+
     public Message(Runtime runtime, String name) {
         this(runtime, name, null, false);
     }
@@ -47,7 +72,7 @@ public class Message extends IokeData {
 
     public Message(Runtime runtime, String name, Object arg1, boolean isTerminator) {
         this.isTerminator = isTerminator;
-        this.name = name;
+        this.name = name == null ? null : name.intern();
 
         this.file = ((IokeSystem)IokeObject.data(runtime.system)).currentFile();
 
@@ -95,6 +120,34 @@ public class Message extends IokeData {
         return copy;
     }
 
+    public static IokeObject resendCopy(IokeObject message, String name) throws ControlFlow {
+        Message m = (Message)IokeObject.data(message);
+        IokeObject copy = m.resent;
+        if(copy != null && IokeObject.data(copy) instanceof Message) {
+            Message c = (Message)IokeObject.data(copy);
+            if(name.equals(c.name) && c.next == m.next && c.prev == m.prev && c.cached == m.cached && sameArguments(c.arguments, m.arguments)) {
+                return copy;
+            }
+        }
+        copy = copy(message);
+        setName(copy, name);
+        m.resent = copy;
+        return copy;
+    }
+
+    private static boolean sameArguments(List<Object> left, List<Object> right) {
+        int size = left.size();
+        if(size != right.size()) {
+            return false;
+        }
+        for(int i = 0; i < size; i++) {
+            if(left.get(i) != right.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static IokeObject deepCopy(Object message) throws ControlFlow {
         IokeObject copy = IokeObject.as(message, null).mimic(null, null);
         copySourceLocation(message, copy);
@@ -323,21 +376,9 @@ public class Message extends IokeData {
                 }
             }));
 
-        message.registerMethod(message.runtime.newNativeMethod("sets the name of the message and then returns that name", new TypeCheckingNativeMethod("name=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(message)
-                    .withRequiredPositional("newName")
-                    .getArguments();
-
+        message.registerMethod(message.runtime.newNativeMethod("sets the name of the message and then returns that name", new TypeCheckingNativeMethod.WithOneArgument("name=", message, "newName") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object o = args.get(0);
+                public Object activate(IokeObject method, Object on, Object o, IokeObject context, IokeObject message) throws ControlFlow {
                     String name = null;
                     if(IokeObject.data(o) instanceof Symbol) {
                         name = Symbol.getText(o);
@@ -352,21 +393,9 @@ public class Message extends IokeData {
                 }
             }));
 
-        message.registerMethod(message.runtime.newNativeMethod("sets the next pointer of the message and then returns that pointer", new TypeCheckingNativeMethod("next=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(message)
-                    .withRequiredPositional("newNext")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        message.registerMethod(message.runtime.newNativeMethod("sets the next pointer of the message and then returns that pointer", new TypeCheckingNativeMethod.WithOneArgument("next=", message, "newNext") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object o = args.get(0);
+                public Object activate(IokeObject method, Object on, Object o, IokeObject context, IokeObject message) throws ControlFlow {
                     if(o == context.runtime.nil) {
                         Message.setNext(IokeObject.as(on, context), null);
                     } else {
@@ -377,21 +406,9 @@ public class Message extends IokeData {
                 }
             }));
 
-        message.registerMethod(message.runtime.newNativeMethod("sets the prev pointer of the message and then returns that pointer", new TypeCheckingNativeMethod("prev=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(message)
-                    .withRequiredPositional("newPrev")
-                    .getArguments();
-
+        message.registerMethod(message.runtime.newNativeMethod("sets the prev pointer of the message and then returns that pointer", new TypeCheckingNativeMethod.WithOneArgument("prev=", message, "newPrev") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object o = args.get(0);
+                public Object activate(IokeObject method, Object on, Object o, IokeObject context, IokeObject message) throws ControlFlow {
                     if(o == context.runtime.nil) {
                         Message.setPrev(IokeObject.as(on, context), null);
                     } else {
@@ -556,21 +573,9 @@ public class Message extends IokeData {
                 }
             }));
 
-        message.registerMethod(message.runtime.newNativeMethod("evaluates the argument and makes it the new next pointer of the receiver. it also modifies the argument so its prev pointer points back to this message. if the argument is nil, the next pointer will be erased. it then returns the receiving message.", new TypeCheckingNativeMethod("->") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(message)
-                    .withRequiredPositional("nextMessage")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        message.registerMethod(message.runtime.newNativeMethod("evaluates the argument and makes it the new next pointer of the receiver. it also modifies the argument so its prev pointer points back to this message. if the argument is nil, the next pointer will be erased. it then returns the receiving message.", new TypeCheckingNativeMethod.WithOneArgument("->", message, "nextMessage") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     if(arg == context.runtime.nil) {
                         Message.setNext(IokeObject.as(on, context), null);
                     } else {
@@ -583,21 +588,9 @@ public class Message extends IokeData {
             }));
 
 
-        message.registerMethod(message.runtime.newNativeMethod("sets the arguments for this message. if given nil the arguments list will be creared, otherwise the list given as arguments will be used. it then returns the receiving message.", new TypeCheckingNativeMethod("arguments=") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(message)
-                    .withRequiredPositional("newArguments")
-                    .getArguments();
-
+        message.registerMethod(message.runtime.newNativeMethod("sets the arguments for this message. if given nil the arguments list will be creared, otherwise the list given as arguments will be used. it then returns the receiving message.", new TypeCheckingNativeMethod.WithOneArgument("arguments=", message, "newArguments") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     setArguments(IokeObject.as(on, method), new ArrayList<Object>());
                     if(arg == context.runtime.nil) {
                         // no arguments for this message
@@ -752,11 +745,18 @@ public class Message extends IokeData {
     }
 
     public static void setName(IokeObject message, String name) {
-        ((Message)IokeObject.data(message)).name = name;
+        Message m = (Message)IokeObject.data(message);
+        if(m.kind == SYMBOL) {
+            // the cached value is the symbol of the old name
+            m.cached = null;
+        }
+        m.name = name == null ? null : name.intern();
+        m.kind = UNCLASSIFIED;
+        m.inlineCache = null;
     }
 
     public static void setArguments(IokeObject message, List<Object> arguments) {
-        ((Message)IokeObject.data(message)).arguments = arguments;
+        ((Message)IokeObject.data(message)).setArguments(arguments);
     }
 
     public static void setFile(IokeObject message, String file) {
@@ -810,6 +810,28 @@ public class Message extends IokeData {
 
     public void setArguments(List<Object> arguments) {
         this.arguments = arguments;
+        this.kind = UNCLASSIFIED;
+    }
+
+    public final byte kind() {
+        byte k = kind;
+        int argumentCount = arguments.size();
+        if(k == UNCLASSIFIED || argumentCount != kindArgumentCount) {
+            if(name == ".") {
+                k = TERMINATOR;
+            } else if(name.length() > 0 && name.charAt(0) == ':' && argumentCount == 0) {
+                k = SYMBOL;
+            } else if(name == "return" || name == "break" || name == "continue" ||
+                      name == "if" || name == "unless" ||
+                      name == "while" || name == "until" || name == "loop") {
+                k = CONTROL;
+            } else {
+                k = SEND;
+            }
+            kind = k;
+            kindArgumentCount = argumentCount;
+        }
+        return k;
     }
 
     @Override
@@ -3,8 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 import ioke.lang.exceptions.ControlFlow;
@@ -33,7 +31,7 @@ public class Method extends IokeData implements Named, Inspectable {
         method.registerMethod(method.runtime.newNativeMethod("returns the name of the method", new NativeMethod.WithNoArguments("name") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(((Method)IokeObject.data(on)).name);
                 }
@@ -41,7 +39,7 @@ public class Method extends IokeData implements Named, Inspectable {
         method.registerMethod(method.runtime.newNativeMethod("Returns a text inspection of the object", new NativeMethod.WithNoArguments("inspect") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(Method.getInspect(on));
                 }
@@ -49,7 +47,7 @@ public class Method extends IokeData implements Named, Inspectable {
         method.registerMethod(method.runtime.newNativeMethod("Returns a brief text inspection of the object", new NativeMethod.WithNoArguments("notice") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText(Method.getNotice(on));
                 }
@@ -74,7 +72,7 @@ public class Method extends IokeData implements Named, Inspectable {
         method.registerMethod(method.runtime.newNativeMethod("returns the full code of this method, as a Text", new NativeMethod.WithNoArguments("code") {
                 @Override
                 public Object activate(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(dynamicContext, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(dynamicContext, message, on);
 
                     IokeData data = IokeObject.data(on);
                     if(data instanceof Method) {
@@ -0,0 +1,101 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+/**
+ * A runtime wide cache of cell lookups, used when the inline cache of a
+ * message can't answer - most importantly for megamorphic call sites. It is a
+ * direct mapped table keyed on the receiver and the name of the cell, where
+ * the receiver is identified in the same way as in InlineCache - either by
+ * its Shape and single mimic, or by its Body and the version of that body.
+ * Lookups that didn't find anything are cached as well, since those are
+ * common for locals that forward to their self. An entry is only valid for
+ * the generation of its name that it was added in.
+ *
+ * The entries are immutable, so the table can be read and written without
+ * locking. The hit and miss counters are not synchronized and should only
+ * be taken as approximations when several threads are running.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class MethodCache {
+    static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+
+    private static final class Entry {
+        final Object key;
+        final IokeObject mimic;
+        final int version;
+        final int generation;
+        final String name;
+        final Object cell;
+
+        Entry(Object key, IokeObject mimic, int version, int generation, String name, Object cell) {
+            this.key = key;
+            this.mimic = mimic;
+            this.version = version;
+            this.generation = generation;
+            this.name = name;
+            this.cell = cell;
+        }
+    }
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    long hits;
+    long misses;
+
+    private static int index(Object key, String name) {
+        int h = System.identityHashCode(key) * 31 + name.hashCode();
+        return (h ^ (h >>> 16)) & MASK;
+    }
+
+    /**
+     * Returns the cached cell for the body, or null if there is no valid entry.
+     */
+    Object get(String name, Body body, int generation) {
+        Object key;
+        IokeObject mimic;
+        boolean shapeKeyed = InlineCache.isShapeKeyed(body);
+        if(shapeKeyed) {
+            key = body.shape;
+            mimic = body.mimic;
+        } else {
+            key = body;
+            mimic = null;
+        }
+
+        Entry e = entries[index(key, name)];
+        if(e != null && e.key == key && e.mimic == mimic && e.generation == generation &&
+           (shapeKeyed || e.version == body.version) &&
+           (e.name == name || name.equals(e.name))) {
+            hits++;
+            return e.cell;
+        }
+        misses++;
+        return null;
+    }
+
+    void put(String name, Body body, int generation, int version, Object cell) {
+        Object key;
+        IokeObject mimic;
+        if(InlineCache.isShapeKeyed(body)) {
+            key = body.shape;
+            mimic = body.mimic;
+        } else {
+            key = body;
+            mimic = null;
+        }
+
+        entries[index(key, name)] = new Entry(key, mimic, version, generation, name, cell);
+    }
+
+    void clear() {
+        for(int i = 0; i < SIZE; i++) {
+            entries[i] = null;
+        }
+        hits = 0;
+        misses = 0;
+    }
+}// MethodCache
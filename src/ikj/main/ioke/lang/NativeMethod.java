@@ -4,6 +4,7 @@
 package ioke.lang;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +16,20 @@ import ioke.lang.exceptions.ControlFlow;
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public abstract class NativeMethod extends Method implements CanRun {
+    // handed to methods that take no arguments, instead of new collections
+    static final List<Object> NO_ARGUMENTS = Collections.emptyList();
+    static final Map<String, Object> NO_KEYWORDS = Collections.emptyMap();
+
+    // set for the flow control methods that can hand back a signal
+    // instead of throwing - see Activation
+    boolean acceptsSignals;
+
+    static boolean acceptsSignals(Object cell) {
+        return (cell instanceof IokeObject) &&
+            (((IokeObject)cell).data instanceof NativeMethod) &&
+            ((NativeMethod)((IokeObject)cell).data).acceptsSignals;
+    }
+
     public static class WithNoArguments extends NativeMethod {
         private final static DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition.builder().getArguments();;
 
@@ -26,6 +41,38 @@ public abstract class NativeMethod extends Method implements CanRun {
         public DefaultArgumentsDefinition getArguments() {
             return ARGUMENTS;
         }
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+            getArguments().evaluateNoArguments(context, message, on);
+            return activate(self, on, NO_ARGUMENTS, NO_KEYWORDS, context, message);
+        }
+    }
+
+    /**
+     * A builtin hash that can be calculated in Java. IokeData.hashCode
+     * calls hash directly for receivers that would get one of these,
+     * instead of sending hash and unwrapping the resulting number.
+     */
+    public abstract static class Hash extends WithNoArguments {
+        private final Class<? extends IokeData> dataType;
+
+        public Hash(Class<? extends IokeData> dataType) {
+            super("hash");
+            this.dataType = dataType;
+        }
+
+        public boolean handles(IokeObject on) {
+            return dataType.isInstance(on.data);
+        }
+
+        public abstract int hash(IokeObject on) throws ControlFlow;
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+            getArguments().evaluateNoArguments(context, message, on);
+            return context.runtime.newNumber(hash((IokeObject)on));
+        }
     }
 
     public NativeMethod(String name) {
@@ -38,7 +85,7 @@ public abstract class NativeMethod extends Method implements CanRun {
         javaMethod.registerMethod(javaMethod.runtime.newNativeMethod("returns a list of the keywords this method takes", new WithNoArguments("keywords") {
                 @Override
                 public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newList(new ArrayList<Object>());
                 }
@@ -46,7 +93,7 @@ public abstract class NativeMethod extends Method implements CanRun {
         javaMethod.registerMethod(javaMethod.runtime.newNativeMethod("returns the code for the argument definition", new WithNoArguments("argumentsCode") {
                 @Override
                 public Object activate(IokeObject self, IokeObject dynamicContext, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(dynamicContext, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(dynamicContext, message, on);
 
                     IokeData data = IokeObject.data(on);
                     if(data instanceof NativeMethod) {
@@ -27,12 +27,30 @@ import ioke.lang.exceptions.ControlFlow;
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class Number extends IokeData {
-    private final RatNum value;
+    // integers that fit in a long are kept as a fixnum, and the IntNum is
+    // only created if something asks for it
+    private RatNum value;
+    private final long fixnum;
+    private final boolean isFixnum;
     private final boolean kind;
 
 
     public Number(RatNum value) {
         this.value = value;
+        if((value instanceof IntNum) && (((IntNum)value).words == null || ((IntNum)value).intLength() < 64)) {
+            this.fixnum = value.longValue();
+            this.isFixnum = true;
+        } else {
+            this.fixnum = 0;
+            this.isFixnum = false;
+        }
+        kind = false;
+    }
+
+    public Number(long value) {
+        this.value = null;
+        this.fixnum = value;
+        this.isFixnum = true;
         kind = false;
     }
 
@@ -50,6 +68,8 @@ public class Number extends IokeData {
 
     private Number() {
         this.value = IntNum.make(0);
+        this.fixnum = 0;
+        this.isFixnum = false;
         kind = true;
     }
 
@@ -58,7 +78,7 @@ public class Number extends IokeData {
     }
 
     public static Number integer(long val) {
-        return new Number(getFrom(val));
+        return new Number(val);
     }
 
     public static Number integer(IntNum val) {
@@ -71,19 +91,70 @@ public class Number extends IokeData {
 
 
     public String asJavaString() {
+        if(isFixnum) {
+            return Long.toString(fixnum);
+        }
         return value.toString();
     }
 
     public int asJavaInteger() {
+        if(isFixnum) {
+            return (int)fixnum;
+        }
         return value.intValue();
     }
 
     public long asJavaLong() {
+        if(isFixnum) {
+            return fixnum;
+        }
         return value.longValue();
     }
 
     public RatNum getValue() {
-        return value;
+        RatNum v = value;
+        if(v == null) {
+            v = value = IntNum.make(fixnum);
+        }
+        return v;
+    }
+
+    public boolean isFixnum() {
+        return isFixnum;
+    }
+
+    public long getFixnum() {
+        return fixnum;
+    }
+
+    /**
+     * Returns the Number data of the argument if it's an integer that fits
+     * in a long, and null otherwise.
+     */
+    public static Number fixnum(Object number) {
+        if(number instanceof IokeObject) {
+            IokeData data = ((IokeObject)number).data;
+            if((data instanceof Number) && ((Number)data).isFixnum) {
+                return (Number)data;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if it's possible to count from the integer in the
+     * given direction without sending succ, pred or == - that is, if
+     * it fits in a long and the methods it would use are the builtin
+     * ones.
+     */
+    static boolean countsNatively(Object number, boolean down) {
+        if(fixnum(number) == null) {
+            return false;
+        }
+        IokeObject obj = (IokeObject)number;
+        Runtime runtime = obj.runtime;
+        return IokeObject.findCell(obj, down ? "pred" : "succ") == (down ? runtime.integerPred : runtime.integerSucc) &&
+            IokeObject.findCell(obj, "==") == runtime.rationalEquals;
     }
 
     @Override
@@ -125,11 +196,11 @@ public class Number extends IokeData {
     }
 
     public static RatNum value(Object number) {
-        return ((Number)IokeObject.data(number)).value;
+        return ((Number)IokeObject.data(number)).getValue();
     }
 
     public static IntNum intValue(Object number) {
-        return (IntNum)((Number)IokeObject.data(number)).value;
+        return (IntNum)((Number)IokeObject.data(number)).getValue();
     }
 
     public static int extractInt(Object number, IokeObject m, IokeObject context) throws ControlFlow {
@@ -137,7 +208,11 @@ public class Number extends IokeData {
             number = IokeObject.convertToNumber(number, m, context);
         }
 
-        return intValue(number).intValue();
+        Number n = (Number)IokeObject.data(number);
+        if(n.isFixnum) {
+            return (int)n.fixnum;
+        }
+        return ((IntNum)n.getValue()).intValue();
     }
 
     @Override
@@ -186,20 +261,19 @@ public class Number extends IokeData {
         infinity2.setKind("Number \u221E");
         number.registerCell("\u221E", infinity2);
 
-        number.registerMethod(runtime.newNativeMethod("returns a hash for the number", new NativeMethod.WithNoArguments("hash") {
+        number.registerMethod(runtime.newNativeMethod("returns a hash for the number", new NativeMethod.Hash(Number.class) {
                 @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return context.runtime.newNumber(((Number)IokeObject.data(on)).value.hashCode());
+                public int hash(IokeObject on) {
+                    return ((Number)IokeObject.data(on)).getValue().hashCode();
                 }
             }));
 
         rational.registerMethod(runtime.newNativeMethod("returns the square root of the receiver. this should return the same result as calling ** with 0.5", new NativeMethod.WithNoArguments("sqrt") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
-                    RatNum value = ((Number)IokeObject.data(on)).value;
+                    RatNum value = ((Number)IokeObject.data(on)).getValue();
                     if(value instanceof IntFraction) {
                         IntNum num = value.numerator();
                         IntNum den = value.denominator();
@@ -248,29 +322,27 @@ public class Number extends IokeData {
                     getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
                     Number d = (Number)IokeObject.data(on);
                     Object other = args.get(0);
+                    Number o = Number.fixnum(other);
+                    if(d.isFixnum && o != null) {
+                        return d.fixnum == o.fixnum ? context.runtime._true : context.runtime._false;
+                    }
                     return ((other instanceof IokeObject) &&
                             (IokeObject.data(other) instanceof Number)
                             && (((d.kind || ((Number)IokeObject.data(other)).kind) ? on == other :
-                                 d.value.equals(((Number)IokeObject.data(other)).value)))) ? context.runtime._true : context.runtime._false;
+                                 d.getValue().equals(((Number)IokeObject.data(other)).getValue())))) ? context.runtime._true : context.runtime._false;
                 }
             }));
 
 
-        rational.registerMethod(runtime.newNativeMethod("compares this number against the argument, returning -1, 0 or 1 based on which one is larger. if the argument is a decimal, the receiver will be converted into a form suitable for comparing against a decimal, and then compared - it's not specified whether this will actually call Decimal#<=> or not. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that doesn't work it returns nil.", new TypeCheckingNativeMethod("<=>") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(rational)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("compares this number against the argument, returning -1, 0 or 1 based on which one is larger. if the argument is a decimal, the receiver will be converted into a form suitable for comparing against a decimal, and then compared - it's not specified whether this will actually call Decimal#<=> or not. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that doesn't work it returns nil.", new TypeCheckingNativeMethod.WithOneArgument("<=>", rational, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        return context.runtime.newNumber(x.fixnum < y.fixnum ? -1 : (x.fixnum == y.fixnum ? 0 : 1));
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -322,57 +394,44 @@ public class Number extends IokeData {
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("compares this number against the argument, true if this number is the same, otherwise false", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(number)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        rational.registerMethod(runtime.newNativeMethod("compares this number against the argument, true if this number is the same, otherwise false", new TypeCheckingNativeMethod.Equality(number, Number.class) {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public boolean isEqual(IokeObject on, Object arg) {
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        return x.fixnum == y.fixnum;
+                    }
                     if(on == rational || arg == rational || on == integer || arg == integer || on == ratio || arg == ratio || on == infinity || arg == infinity || on == infinity2 || arg == infinity2) {
-                        if(arg == on) {
-                            return context.runtime._true;
-                        }
-                        return context.runtime._false;
+                        return arg == on;
                     }
                     if(IokeObject.data(arg) instanceof Decimal) {
-                        return (Number.value(on).asBigDecimal().compareTo(Decimal.value(arg)) == 0) ? context.runtime._true : context.runtime._false;
+                        return Number.value(on).asBigDecimal().compareTo(Decimal.value(arg)) == 0;
                     } else if(IokeObject.data(arg) instanceof Number) {
-                        return IntNum.compare(Number.value(on),Number.value(arg)) == 0 ? context.runtime._true : context.runtime._false;
+                        return IntNum.compare(Number.value(on),Number.value(arg)) == 0;
                     } else {
-                        return context.runtime._false;
+                        return false;
                     }
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("returns the difference between this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for subtracting against a decimal, and then subtracted. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod("-") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(number)
-                    .withRequiredPositional("subtrahend")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("returns the difference between this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for subtracting against a decimal, and then subtracted. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("-", number, "subtrahend") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum, r = a - b;
+                        if(((a ^ b) & (a ^ r)) >= 0) {
+                            return context.runtime.newNumber(r);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
                     if(data instanceof Decimal) {
-                        return Interpreter.send(context.runtime.minusMessage, context, context.runtime.newDecimal(((Number)IokeObject.data(on))), arg);
+                        return Interpreter.send(context.runtime.minusMessage, context, Decimal.convertNumberFor(on, arg, context), arg);
                     } else {
                         if(!(data instanceof Number)) {
                             arg = IokeObject.convertToRational(arg, message, context, true);
@@ -383,26 +442,23 @@ public class Number extends IokeData {
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("returns the addition of this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for addition against a decimal, and then added. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod("+") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(number)
-                    .withRequiredPositional("addend")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("returns the addition of this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for addition against a decimal, and then added. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("+", number, "addend") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum, r = a + b;
+                        if(((a ^ r) & (b ^ r)) >= 0) {
+                            return context.runtime.newNumber(r);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
                     if(data instanceof Decimal) {
-                        return Interpreter.send(context.runtime.plusMessage, context, context.runtime.newDecimal(((Number)IokeObject.data(on))), arg);
+                        return Interpreter.send(context.runtime.plusMessage, context, Decimal.convertNumberFor(on, arg, context), arg);
                     } else {
                         if(!(data instanceof Number)) {
                             arg = IokeObject.convertToRational(arg, message, context, true);
@@ -413,26 +469,24 @@ public class Number extends IokeData {
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("returns the product of this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for multiplying against a decimal, and then multiplied. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod("*") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(number)
-                    .withRequiredPositional("multiplier")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("returns the product of this number and the argument. if the argument is a decimal, the receiver will be converted into a form suitable for multiplying against a decimal, and then multiplied. if the argument is neither a Rational nor a Decimal, it tries to call asRational, and if that fails it signals a condition.", new TypeCheckingNativeMethod.WithOneArgument("*", number, "multiplier") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum, r = a * b;
+                        if(((Math.abs(a) | Math.abs(b)) >>> 31) == 0 ||
+                           (b != 0 && r / b == a && !(a == Long.MIN_VALUE && b == -1))) {
+                            return context.runtime.newNumber(r);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
                     if(data instanceof Decimal) {
-                        return Interpreter.send(context.runtime.multMessage, context, context.runtime.newDecimal(((Number)IokeObject.data(on))), arg);
+                        return Interpreter.send(context.runtime.multMessage, context, Decimal.convertNumberFor(on, arg, context), arg);
                     } else {
                         if(!(data instanceof Number)) {
                             arg = IokeObject.convertToRational(arg, message, context, true);
@@ -443,26 +497,23 @@ public class Number extends IokeData {
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("returns the quotient of this number and the argument. if the division is not exact, it will return a Ratio.", new TypeCheckingNativeMethod("/") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(number)
-                    .withRequiredPositional("dividend")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("returns the quotient of this number and the argument. if the division is not exact, it will return a Ratio.", new TypeCheckingNativeMethod.WithOneArgument("/", number, "dividend") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, final IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum;
+                        if(b != 0 && a % b == 0 && !(a == Long.MIN_VALUE && b == -1)) {
+                            return context.runtime.newNumber(a / b);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
                     if(data instanceof Decimal) {
-                        return Interpreter.send(context.runtime.divMessage, context, context.runtime.newDecimal(((Number)IokeObject.data(on))), arg);
+                        return Interpreter.send(context.runtime.divMessage, context, Decimal.convertNumberFor(on, arg, context), arg);
                     } else {
                         if(!(data instanceof Number)) {
                             arg = IokeObject.convertToRational(arg, message, context, true);
@@ -506,21 +557,22 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns the modulo of this number and the argument", new TypeCheckingNativeMethod("%") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("dividend")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns the modulo of this number and the argument", new TypeCheckingNativeMethod.WithOneArgument("%", integer, "dividend") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum;
+                        if(b != 0) {
+                            long r = a % b;
+                            if(r != 0 && (r ^ b) < 0) {
+                                r += b;
+                            }
+                            return context.runtime.newNumber(r);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -532,21 +584,9 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns how many times the first number can be divided by the second one", new TypeCheckingNativeMethod("div") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("dividend")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        integer.registerMethod(runtime.newNativeMethod("returns how many times the first number can be divided by the second one", new TypeCheckingNativeMethod.WithOneArgument("div", integer, "dividend") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, final IokeObject context, IokeObject message) throws ControlFlow {
 
                     while(Number.value(arg).isZero()) {
                         final IokeObject condition = IokeObject.as(IokeObject.getCellChain(context.runtime.condition,
@@ -586,21 +626,9 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns a tuple of how many times the first number can be divided by the second one, and the remainder", new TypeCheckingNativeMethod("divmod") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("dividend")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        integer.registerMethod(runtime.newNativeMethod("returns a tuple of how many times the first number can be divided by the second one, and the remainder", new TypeCheckingNativeMethod.WithOneArgument("divmod", integer, "dividend") {
                 @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, final IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, final IokeObject context, IokeObject message) throws ControlFlow {
 
                     while(Number.value(arg).isZero()) {
                         final IokeObject condition = IokeObject.as(IokeObject.getCellChain(context.runtime.condition,
@@ -645,21 +673,9 @@ public class Number extends IokeData {
                 }
             }));
 
-        rational.registerMethod(runtime.newNativeMethod("returns this number to the power of the argument", new TypeCheckingNativeMethod("**") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(rational)
-                    .withRequiredPositional("exponent")
-                    .getArguments();
-
+        rational.registerMethod(runtime.newNativeMethod("returns this number to the power of the argument", new TypeCheckingNativeMethod.WithOneArgument("**", rational, "exponent") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
                     IokeData data = IokeObject.data(arg);
 
@@ -676,21 +692,15 @@ public class Number extends IokeData {
             }));
 
 
-        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise and the argument", new TypeCheckingNativeMethod("&") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise and the argument", new TypeCheckingNativeMethod.WithOneArgument("&", integer, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        return context.runtime.newNumber(x.fixnum & y.fixnum);
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -702,21 +712,15 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise or the argument", new TypeCheckingNativeMethod("|") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise or the argument", new TypeCheckingNativeMethod.WithOneArgument("|", integer, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        return context.runtime.newNumber(x.fixnum | y.fixnum);
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -728,21 +732,15 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise xor the argument", new TypeCheckingNativeMethod("^") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns this number bitwise xor the argument", new TypeCheckingNativeMethod.WithOneArgument("^", integer, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        return context.runtime.newNumber(x.fixnum ^ y.fixnum);
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -754,21 +752,18 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns this number left shifted by the argument", new TypeCheckingNativeMethod("<<") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns this number left shifted by the argument", new TypeCheckingNativeMethod.WithOneArgument("<<", integer, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum;
+                        if(b >= 0 && b < 64 && ((a << b) >> b) == a) {
+                            return context.runtime.newNumber(a << b);
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -780,21 +775,18 @@ public class Number extends IokeData {
                 }
             }));
 
-        integer.registerMethod(runtime.newNativeMethod("returns this number right shifted by the argument", new TypeCheckingNativeMethod(">>") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(integer)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        integer.registerMethod(runtime.newNativeMethod("returns this number right shifted by the argument", new TypeCheckingNativeMethod.WithOneArgument(">>", integer, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                    Number x = Number.fixnum(on);
+                    Number y = Number.fixnum(arg);
+                    if(x != null && y != null) {
+                        long a = x.fixnum, b = y.fixnum;
+                        if(b >= 0) {
+                            return context.runtime.newNumber(a >> (b < 64 ? b : 63));
+                        }
+                    }
 
                     IokeData data = IokeObject.data(arg);
 
@@ -830,6 +822,10 @@ public class Number extends IokeData {
         integer.registerMethod(runtime.newNativeMethod("Returns the successor of this number", new TypeCheckingNativeMethod.WithNoArguments("succ", integer) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Number x = Number.fixnum(on);
+                    if(x != null && x.fixnum != Long.MAX_VALUE) {
+                        return runtime.newNumber(x.fixnum + 1);
+                    }
                     return runtime.newNumber(IntNum.add(Number.intValue(on),IntNum.one()));
                 }
             }));
@@ -837,6 +833,10 @@ public class Number extends IokeData {
         integer.registerMethod(runtime.newNativeMethod("Returns the predecessor of this number", new TypeCheckingNativeMethod.WithNoArguments("pred", integer) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Number x = Number.fixnum(on);
+                    if(x != null && x.fixnum != Long.MIN_VALUE) {
+                        return runtime.newNumber(x.fixnum - 1);
+                    }
                     return runtime.newNumber(IntNum.sub(Number.intValue(on),IntNum.one()));
                 }
             }));
@@ -900,10 +900,11 @@ public class Number extends IokeData {
                     }
                     default:
                         int ix = 0;
+                        int slot = -1;
                         String name = ((IokeObject)Message.getArg1(message)).getName();
                         Object result = runtime.nil;
                         while(ix<num) {
-                            context.setCell(name, runtime.newNumber(IntNum.make(ix)));
+                            slot = context.setCell(slot, name, runtime.newNumber(ix));
                             result = Interpreter.getEvaluatedArgument(message, 1, context);
                             ix++;
                         }
@@ -918,5 +919,11 @@ public class Number extends IokeData {
                     return runtime.newText(String.valueOf((char)Number.intValue(on).intValue()));
                 }
             }));
+
+        runtime.integerSucc = (IokeObject)integer.body.get("succ");
+        runtime.integerPred = (IokeObject)integer.body.get("pred");
+        runtime.rationalEquals = (IokeObject)rational.body.get("==");
+        runtime.rationalPlus = (IokeObject)rational.body.get("+");
+        runtime.rationalCompare = (IokeObject)rational.body.get("<=>");
     }
 }// Number
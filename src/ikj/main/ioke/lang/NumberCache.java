@@ -0,0 +1,97 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+/**
+ * Makes sure that integers that are used over and over again don't have to
+ * be allocated every time. The integers between MIN and MAX live in a table
+ * that is filled in as they are used, and are never thrown away. Other
+ * integers that fit in a long go into a small direct mapped table where a
+ * new value simply replaces the one that was there before, so the cache
+ * never grows no matter how many different numbers a program creates.
+ * Larger integers are not cached at all.
+ *
+ * The range of the small integer table can be changed with the system
+ * properties ioke.smallIntegers.min and ioke.smallIntegers.max.
+ *
+ * The hit and miss counters are not synchronized and should only be taken
+ * as approximations when several threads are running.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class NumberCache {
+    static final long MIN = Integer.getInteger("ioke.smallIntegers.min", -1024).intValue();
+    static final long MAX = Math.max(MIN - 1, Integer.getInteger("ioke.smallIntegers.max", 65535).intValue());
+
+    static final int RECENT_SIZE = 1024;
+    private static final int RECENT_MASK = RECENT_SIZE - 1;
+
+    private final IokeObject[] small = new IokeObject[(int)(MAX - MIN + 1)];
+    private final IokeObject[] recent = new IokeObject[RECENT_SIZE];
+
+    long hits;
+    long misses;
+    int size;
+
+    private static int index(long value) {
+        int h = (int)(value ^ (value >>> 32));
+        return (h ^ (h >>> 16)) & RECENT_MASK;
+    }
+
+    /**
+     * Returns the cached number with the given value, or null if there is none.
+     */
+    IokeObject get(long value) {
+        IokeObject obj = peek(value);
+        if(obj != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return obj;
+    }
+
+    /**
+     * Returns the cached number with the given value, or null if there is
+     * none. This doesn't count as a hit or a miss.
+     */
+    IokeObject peek(long value) {
+        if(value >= MIN && value <= MAX) {
+            return small[(int)(value - MIN)];
+        }
+        IokeObject obj = recent[index(value)];
+        if(obj != null && !((obj.data instanceof Number) && ((Number)obj.data).getFixnum() == value)) {
+            return null;
+        }
+        return obj;
+    }
+
+    /**
+     * Returns true if the object is the cached number for the value. This
+     * doesn't count as a hit or a miss.
+     */
+    boolean holds(long value, IokeObject obj) {
+        if(value >= MIN && value <= MAX) {
+            return small[(int)(value - MIN)] == obj;
+        }
+        return recent[index(value)] == obj;
+    }
+
+    void put(long value, IokeObject obj) {
+        IokeObject[] table;
+        int ix;
+        if(value >= MIN && value <= MAX) {
+            table = small;
+            ix = (int)(value - MIN);
+        } else {
+            table = recent;
+            ix = index(value);
+        }
+
+        if(table[ix] == null) {
+            size++;
+        }
+        table[ix] = obj;
+    }
+}// NumberCache
@@ -0,0 +1,448 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * The storage of a list that keeps its elements unboxed in a long[] or
+ * a double[] for as long as they are all integers or all floating point
+ * decimals. The objects for the elements are made when they are asked
+ * for - integers come from the number cache of the runtime, and float
+ * decimals are created anew every time. The first element that doesn't
+ * fit moves the list over to an array of objects, where it stays until
+ * it's cleared.
+ *
+ * Integers in the small integer table of the number cache are unboxed,
+ * and are boxed again as the same object, since the table never throws
+ * them away. Other integers and float decimals are only unboxed when they
+ * are plain mimics of Integer or Decimal without cells of their own and
+ * not frozen, so that nothing but their identity can be lost by not
+ * keeping the objects around. Numbers from another runtime than the
+ * one of the first number are never unboxed.
+ *
+ * Cached integers can get cells after they have been unboxed, so the
+ * shortcuts that work on the unboxed numbers check each of them for
+ * cells that change what the shortcut would send.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class NumberList extends AbstractList<Object> implements RandomAccess {
+    private static final int EMPTY = 0;
+    private static final int INTEGERS = 1;
+    private static final int FLOATS = 2;
+    private static final int OBJECTS = 3;
+
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int kind = EMPTY;
+    private long[] integers;
+    private double[] floats;
+    private Object[] objects;
+    private int size;
+    // taken from the first number added
+    private Runtime runtime;
+
+    public NumberList() {
+    }
+
+    public NumberList(Collection<?> elements) {
+        if(elements instanceof NumberList) {
+            NumberList other = (NumberList)elements;
+            kind = other.kind;
+            size = other.size;
+            runtime = other.runtime;
+            int capacity = Math.max(size, MINIMUM_CAPACITY);
+            switch(kind) {
+            case INTEGERS:
+                integers = Arrays.copyOf(other.integers, capacity);
+                break;
+            case FLOATS:
+                floats = Arrays.copyOf(other.floats, capacity);
+                break;
+            case OBJECTS:
+                objects = Arrays.copyOf(other.objects, capacity);
+                break;
+            }
+        } else {
+            for(Object e : elements) {
+                add(e);
+            }
+        }
+    }
+
+    private int kindOf(Object element) {
+        if(element instanceof IokeObject) {
+            IokeObject obj = (IokeObject)element;
+            if(runtime != null && obj.runtime != runtime) {
+                return OBJECTS;
+            }
+            IokeData data = obj.data;
+            if(data instanceof Number) {
+                Number n = (Number)data;
+                if(n.isFixnum()) {
+                    long value = n.getFixnum();
+                    if(value >= NumberCache.MIN && value <= NumberCache.MAX) {
+                        if(obj.runtime.numberCache.holds(value, obj)) {
+                            return INTEGERS;
+                        }
+                    } else if(isPlain(obj, obj.runtime.integer)) {
+                        return INTEGERS;
+                    }
+                }
+            } else if((data instanceof Decimal) && ((Decimal)data).isFloat()) {
+                if(isPlain(obj, obj.runtime.decimal)) {
+                    return FLOATS;
+                }
+            }
+        }
+        return OBJECTS;
+    }
+
+    private static boolean isPlain(IokeObject obj, IokeObject kind) {
+        Body body = obj.body;
+        return body.mimicCount == 1 && body.mimic == kind &&
+            (body.flags & IokeObject.FROZEN_F) == 0 && body.isEmpty();
+    }
+
+    private Object box(int index) {
+        switch(kind) {
+        case INTEGERS:
+            return runtime.newNumber(integers[index]);
+        case FLOATS:
+            IokeObject obj = runtime.decimal.allocateCopy(null, null);
+            obj.singleMimicsWithoutCheck(runtime.decimal);
+            obj.setData(Decimal.decimal(floats[index]));
+            return obj;
+        default:
+            return objects[index];
+        }
+    }
+
+    /**
+     * Makes sure the element can be stored, moving over to objects if it
+     * can't be stored the way the elements are stored now.
+     */
+    private void fit(Object element) {
+        if(kind == OBJECTS) {
+            return;
+        }
+        int k = kindOf(element);
+        if(k == kind) {
+            return;
+        }
+        if(kind == EMPTY) {
+            kind = k;
+            switch(k) {
+            case INTEGERS:
+                runtime = ((IokeObject)element).runtime;
+                integers = new long[MINIMUM_CAPACITY];
+                break;
+            case FLOATS:
+                runtime = ((IokeObject)element).runtime;
+                floats = new double[MINIMUM_CAPACITY];
+                break;
+            default:
+                objects = new Object[MINIMUM_CAPACITY];
+                break;
+            }
+            return;
+        }
+
+        Object[] boxed = new Object[Math.max(size + 1, MINIMUM_CAPACITY)];
+        for(int i = 0; i < size; i++) {
+            boxed[i] = box(i);
+        }
+        kind = OBJECTS;
+        objects = boxed;
+        integers = null;
+        floats = null;
+    }
+
+    private void store(int index, Object element) {
+        switch(kind) {
+        case INTEGERS:
+            integers[index] = ((Number)IokeObject.data(element)).getFixnum();
+            break;
+        case FLOATS:
+            floats[index] = Decimal.floatOperand(element);
+            break;
+        default:
+            objects[index] = element;
+            break;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        switch(kind) {
+        case INTEGERS:
+            if(capacity > integers.length) {
+                integers = Arrays.copyOf(integers, Math.max(capacity, integers.length * 2));
+            }
+            break;
+        case FLOATS:
+            if(capacity > floats.length) {
+                floats = Arrays.copyOf(floats, Math.max(capacity, floats.length * 2));
+            }
+            break;
+        default:
+            if(capacity > objects.length) {
+                objects = Arrays.copyOf(objects, Math.max(capacity, objects.length * 2));
+            }
+            break;
+        }
+    }
+
+    private Object storage() {
+        switch(kind) {
+        case INTEGERS:
+            return integers;
+        case FLOATS:
+            return floats;
+        default:
+            return objects;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns true if the elements aren't kept as objects - which is also
+     * the case when there are none.
+     */
+    boolean keepsNumbers() {
+        return kind != OBJECTS;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return box(index);
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        checkIndex(index);
+        fit(element);
+        Object old = box(index);
+        store(index, element);
+        return old;
+    }
+
+    @Override
+    public boolean add(Object element) {
+        fit(element);
+        ensureCapacity(size + 1);
+        store(size, element);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        fit(element);
+        ensureCapacity(size + 1);
+        Object storage = storage();
+        System.arraycopy(storage, index, storage, index + 1, size - index);
+        store(index, element);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        checkIndex(index);
+        Object old = box(index);
+        Object storage = storage();
+        System.arraycopy(storage, index + 1, storage, index, size - index - 1);
+        size--;
+        if(kind == OBJECTS) {
+            objects[size] = null;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        kind = EMPTY;
+        integers = null;
+        floats = null;
+        objects = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns true if sending name to any of the numbers would find
+     * builtin. Float decimals are always boxed as new plain objects, but
+     * integers are boxed as the cached objects, which may have cells of
+     * their own.
+     */
+    private boolean usesBuiltin(String name, IokeObject builtin) {
+        if(kind == FLOATS) {
+            return IokeObject.findCell(runtime.decimal, name) == builtin;
+        }
+        if(IokeObject.findCell(runtime.integer, name) != builtin) {
+            return false;
+        }
+        for(int i = 0; i < size; i++) {
+            if(!isBuiltinFor(runtime.numberCache.peek(integers[i]), name, builtin)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBuiltinFor(IokeObject cached, String name, IokeObject builtin) {
+        return cached == null || isPlain(cached, runtime.integer) || IokeObject.findCell(cached, name) == builtin;
+    }
+
+    /**
+     * Sorts the numbers in place, if they are unboxed and sorting them
+     * as numbers gives the same order as sending <=> would. Returns false
+     * without changing anything otherwise.
+     */
+    boolean sortNumbers() {
+        switch(kind) {
+        case INTEGERS:
+            if(!usesBuiltin("<=>", runtime.rationalCompare)) {
+                return false;
+            }
+            Arrays.sort(integers, 0, size);
+            modCount++;
+            return true;
+        case FLOATS:
+            if(!usesBuiltin("<=>", runtime.decimalCompare)) {
+                return false;
+            }
+            // <=> finds -0.0 and 0.0 equal, which Arrays.sort doesn't
+            for(int i = 0; i < size; i++) {
+                if(floats[i] == 0.0 && Double.doubleToRawLongBits(floats[i]) != 0L) {
+                    return false;
+                }
+            }
+            Arrays.sort(floats, 0, size);
+            modCount++;
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns the sum of the numbers, added left to right the same way
+     * sending + would, or null if they can't be added up without sending
+     * + - because they're objects, because + has been overridden, or
+     * because the sum doesn't fit in a long or a finite double.
+     */
+    public Object sumNumbers() {
+        if(size == 0) {
+            return null;
+        }
+        switch(kind) {
+        case INTEGERS: {
+            if(!usesBuiltin("+", runtime.rationalPlus)) {
+                return null;
+            }
+            long sum = integers[0];
+            for(int i = 1; i < size; i++) {
+                long x = integers[i], r = sum + x;
+                if(((sum ^ r) & (x ^ r)) < 0) {
+                    return null;
+                }
+                sum = r;
+            }
+            return runtime.newNumber(sum);
+        }
+        case FLOATS: {
+            if(!usesBuiltin("+", runtime.decimalPlus)) {
+                return null;
+            }
+            double sum = floats[0];
+            for(int i = 1; i < size; i++) {
+                sum += floats[i];
+                if(Double.isInfinite(sum) || Double.isNaN(sum)) {
+                    return null;
+                }
+            }
+            IokeObject obj = runtime.decimal.allocateCopy(null, null);
+            obj.singleMimicsWithoutCheck(runtime.decimal);
+            obj.setData(Decimal.decimal(sum));
+            return obj;
+        }
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Returns the largest number, or the smallest if largest is false -
+     * the first of them if there are several - or null if the numbers
+     * are objects or can't be compared without sending messages. The
+     * comparison is the same as the one < and > from Mixins Comparing
+     * make, when neither they nor <=> have been overridden.
+     */
+    public Object extremeNumber(boolean largest) {
+        if(size == 0 || kind == OBJECTS) {
+            return null;
+        }
+        String op = largest ? "<" : ">";
+        IokeObject comparing = IokeObject.as(IokeObject.findCell(runtime.mixins, "Comparing"), null);
+        if(!usesBuiltin(op, (IokeObject)IokeObject.findCell(comparing, op)) ||
+           IokeObject.findCell(runtime.integer, "==") != runtime.rationalEquals) {
+            return null;
+        }
+        // the comparison sends == to the result of <=>
+        for(long result = -1; result <= 1; result++) {
+            if(!isBuiltinFor(runtime.numberCache.peek(result), "==", runtime.rationalEquals)) {
+                return null;
+            }
+        }
+
+        int found = 0;
+        if(kind == INTEGERS) {
+            if(!usesBuiltin("<=>", runtime.rationalCompare)) {
+                return null;
+            }
+            long value = integers[0];
+            for(int i = 1; i < size; i++) {
+                long x = integers[i];
+                if(largest ? value < x : value > x) {
+                    value = x;
+                    found = i;
+                }
+            }
+        } else {
+            if(!usesBuiltin("<=>", runtime.decimalCompare)) {
+                return null;
+            }
+            double value = floats[0];
+            for(int i = 1; i < size; i++) {
+                double x = floats[i];
+                if(largest ? value < x : value > x) {
+                    value = x;
+                    found = i;
+                }
+            }
+        }
+        return box(found);
+    }
+}// NumberList
@@ -3,9 +3,6 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-
 import ioke.lang.exceptions.ControlFlow;
 
 /**
@@ -22,7 +19,7 @@ public class Origin {
         origin.registerMethod(runtime.newNativeMethod("Prints a text representation and a newline to standard output", new NativeMethod.WithNoArguments("println") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     Interpreter.send(runtime.printlnMessage, context, Interpreter.send(runtime.outMessage, context, runtime.system), on);
                     return runtime.getNil();
                 }
@@ -31,7 +28,7 @@ public class Origin {
         origin.registerMethod(runtime.newNativeMethod("Prints a text representation to standard output", new NativeMethod.WithNoArguments("print") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     Interpreter.send(runtime.printMessage, context, Interpreter.send(runtime.outMessage, context, runtime.system), on);
                     return runtime.getNil();
                 }
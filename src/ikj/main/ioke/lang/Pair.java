@@ -3,10 +3,8 @@
  */
 package ioke.lang;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 
 import ioke.lang.exceptions.ControlFlow;
 
@@ -47,37 +45,23 @@ public class Pair extends IokeData {
         obj.mimics(IokeObject.as(runtime.mixins.getCell(null, null, "Enumerable"), null), runtime.nul, runtime.nul);
         obj.mimics(IokeObject.as(runtime.mixins.getCell(null, null, "Comparing"), null), runtime.nul, runtime.nul);
 
-        obj.registerMethod(runtime.newNativeMethod("returns a hash for the pair", new NativeMethod.WithNoArguments("hash") {
+        obj.registerMethod(runtime.newNativeMethod("returns a hash for the pair", new NativeMethod.Hash(Pair.class) {
                 @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                public int hash(IokeObject on) {
                     int one = ((Pair)IokeObject.data(on)).first.hashCode();
                     int two = ((Pair)IokeObject.data(on)).second.hashCode();
-                    return context.runtime.newNumber(one + 13*two);
+                    return one + 13*two;
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side pair is equal to the right hand side pair.", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.pair)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side pair is equal to the right hand side pair.", new TypeCheckingNativeMethod.Equality(runtime.pair, Pair.class) {
                 @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
+                public boolean isEqual(IokeObject on, Object other) {
                     Pair d = (Pair)IokeObject.data(on);
-                    Object other = args.get(0);
                     return ((other instanceof IokeObject) &&
                             (IokeObject.data(other) instanceof Pair)
                             && d.first.equals(((Pair)IokeObject.data(other)).first)
-                            && d.second.equals(((Pair)IokeObject.data(other)).second)) ? context.runtime._true : context.runtime._false;
+                            && d.second.equals(((Pair)IokeObject.data(other)).second));
                 }
             }));
 
@@ -52,6 +52,119 @@ public class Range extends IokeData {
         return inclusive;
     }
 
+    /**
+     * Implements each for ranges between two integers that fit in a long,
+     * counting in Java instead of sending succ/pred and == for every step.
+     * The cells for the loop variables are looked up once.
+     */
+    private static Object eachInteger(Object on, IokeObject from, IokeObject to, boolean inclusive, boolean inverted, IokeObject context, IokeObject message) throws ControlFlow {
+        Runtime runtime = context.runtime;
+        List<Object> args = message.getArguments();
+        long current = Number.fixnum(from).getFixnum();
+        long end = Number.fixnum(to).getFixnum();
+        long step = inverted ? -1 : 1;
+
+        switch(args.size()) {
+        case 1: {
+            IokeObject code = IokeObject.as(args.get(0), context);
+            Object ground = context.getRealContext();
+            for(; current != end; current += step) {
+                runtime.interpreter.evaluate(code, context, ground, runtime.newNumber(current));
+            }
+            if(inclusive) {
+                runtime.interpreter.evaluate(code, context, ground, runtime.newNumber(current));
+            }
+            break;
+        }
+        case 2: {
+            IokeObject c = runtime.newLexicalContext(context, "Lexical activation context for Range#each", context);
+            String name = IokeObject.as(args.get(0), context).getName();
+            IokeObject code = IokeObject.as(args.get(1), context);
+            Object ground = c.getRealContext();
+            int slot = -1;
+            for(; current != end; current += step) {
+                slot = c.setCell(slot, name, runtime.newNumber(current));
+                runtime.interpreter.evaluate(code, c, ground, c);
+            }
+            if(inclusive) {
+                c.setCell(slot, name, runtime.newNumber(current));
+                runtime.interpreter.evaluate(code, c, ground, c);
+            }
+            break;
+        }
+        default: {
+            IokeObject c = runtime.newLexicalContext(context, "Lexical activation context for Range#each", context);
+            String iname = IokeObject.as(args.get(0), context).getName();
+            String name = IokeObject.as(args.get(1), context).getName();
+            IokeObject code = IokeObject.as(args.get(2), context);
+            Object ground = c.getRealContext();
+            int slot = -1;
+            int islot = -1;
+            long index = 0;
+            for(; current != end; current += step) {
+                slot = c.setCell(slot, name, runtime.newNumber(current));
+                islot = c.setCell(islot, iname, runtime.newNumber(index++));
+                runtime.interpreter.evaluate(code, c, ground, c);
+            }
+            if(inclusive) {
+                c.setCell(slot, name, runtime.newNumber(current));
+                c.setCell(islot, iname, runtime.newNumber(index));
+                runtime.interpreter.evaluate(code, c, ground, c);
+            }
+            break;
+        }
+        }
+        return on;
+    }
+
+    /**
+     * Receives the elements of a range one at a time, for code that walks
+     * a range without sending each to it.
+     */
+    public abstract static class Visitor {
+        // returns false when no more elements are needed
+        public abstract boolean visit(Object element) throws ControlFlow;
+    }
+
+    /**
+     * Gives every element of the range to the visitor, in the same order
+     * and sending the same messages as each does. A range between two
+     * integers that fit in a long is counted in Java.
+     */
+    public static void traverse(Object on, IokeObject context, Visitor visitor) throws ControlFlow {
+        Runtime runtime = context.runtime;
+        Range range = (Range)IokeObject.data(on);
+        IokeObject from = IokeObject.as(range.from, context);
+        IokeObject to = IokeObject.as(range.to, context);
+
+        if(Number.countsNatively(from, range.inverted) && Number.fixnum(to) != null) {
+            long current = Number.fixnum(from).getFixnum();
+            long end = Number.fixnum(to).getFixnum();
+            long step = range.inverted ? -1 : 1;
+            for(; current != end; current += step) {
+                if(!visitor.visit(runtime.newNumber(current))) {
+                    return;
+                }
+            }
+            if(range.inclusive) {
+                visitor.visit(runtime.newNumber(current));
+            }
+            return;
+        }
+
+        IokeObject messageToSend = range.inverted ? runtime.pred : runtime.succ;
+        Object current = from;
+        while(!IokeObject.isTrue(Interpreter.send(runtime.eqMessage, context, current, to))) {
+            if(!visitor.visit(current)) {
+                return;
+            }
+            current = Interpreter.send(messageToSend, context, current);
+        }
+        if(range.inclusive) {
+            visitor.visit(current);
+        }
+    }
+
     private static class RangeIterator implements Iterator<Object> {
         private IokeObject start;
         private IokeObject end;
@@ -211,7 +324,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns true if the receiver is an exclusive range, false otherwise", new NativeMethod.WithNoArguments("exclusive?") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((Range)IokeObject.data(on)).inclusive ? context.runtime._false : context.runtime._true;
                 }
             }));
@@ -219,7 +332,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns true if the receiver is an inclusive range, false otherwise", new NativeMethod.WithNoArguments("inclusive?") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((Range)IokeObject.data(on)).inclusive ? context.runtime._true : context.runtime._false;
                 }
             }));
@@ -227,7 +340,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the 'from' part of the range", new TypeCheckingNativeMethod.WithNoArguments("from", runtime.range) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((Range)IokeObject.data(on)).from;
                 }
             }));
@@ -235,7 +348,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns the 'to' part of the range", new NativeMethod.WithNoArguments("to") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return ((Range)IokeObject.data(on)).to;
                 }
             }));
@@ -274,12 +387,17 @@ public class Range extends IokeData {
                     IokeObject from = IokeObject.as(((Range)IokeObject.data(on)).from, context);
                     IokeObject to = IokeObject.as(((Range)IokeObject.data(on)).to, context);
                     boolean inclusive = ((Range)IokeObject.data(on)).inclusive;
+                    boolean inverted = ((Range)IokeObject.data(on)).inverted;
 
                     IokeObject messageToSend = context.runtime.succ;
-                    if(((Range)IokeObject.data(on)).inverted) {
+                    if(inverted) {
                         messageToSend = context.runtime.pred;
                     }
 
+                    if(message.getArgumentCount() > 0 && Number.countsNatively(from, inverted) && Number.fixnum(to) != null) {
+                        return eachInteger(on, from, to, inclusive, inverted, context, message);
+                    }
+
                     switch(message.getArgumentCount()) {
                     case 0: {
                         return Interpreter.send(runtime.seqMessage, context, on);
@@ -414,7 +532,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("Returns a text inspection of the object", new NativeMethod.WithNoArguments("inspect") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return method.runtime.newText(Range.getInspect(on));
                 }
             }));
@@ -422,7 +540,7 @@ public class Range extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("Returns a brief text inspection of the object", new NativeMethod.WithNoArguments("notice") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return method.runtime.newText(Range.getNotice(on));
                 }
             }));
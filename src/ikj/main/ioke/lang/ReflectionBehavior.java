@@ -22,7 +22,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("returns a text hex representation of the receiver in upper case hex literal, starting with 0x. This value is based on System.identityHashCode, and as such is not totally guaranteed to be totally unique. but almost.", new NativeMethod.WithNoArguments("uniqueHexId") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newText("0x" + Integer.toHexString(System.identityHashCode(IokeObject.as(on, context).body)).toUpperCase());
                 }
@@ -96,7 +96,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("returns a textual representation of the object called on.", new NativeMethod.WithNoArguments("asText") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return runtime.newText(on.toString());
                 }
@@ -163,7 +163,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("returns a list of all the mimics of the receiver. it will not be the same list as is used to back the object, so modifications to this list will not show up in the object.", new NativeMethod.WithNoArguments("mimics") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     return context.runtime.newList(new ArrayList<Object>(IokeObject.getMimics(on, context)));
                 }
@@ -172,7 +172,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("removes all mimics on the receiver, and returns the receiver", new NativeMethod.WithNoArguments("removeAllMimics!") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     IokeObject.removeAllMimics(on, message, context);
                     return on;
@@ -283,7 +283,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("returns true if the receiver is frozen, otherwise false", new NativeMethod.WithNoArguments("frozen?") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return IokeObject.isFrozen(on) ? context.runtime._true : context.runtime._false;
                 }
             }));
@@ -291,7 +291,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("ensures that the receiver is frozen", new NativeMethod.WithNoArguments("freeze!") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     IokeObject.freeze(on);
                     return on;
@@ -301,7 +301,7 @@ public class ReflectionBehavior {
         obj.registerMethod(runtime.newNativeMethod("ensures that the receiver is not frozen", new NativeMethod.WithNoArguments("thaw!") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
 
                     IokeObject.thaw(on);
                     return on;
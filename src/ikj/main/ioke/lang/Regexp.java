@@ -72,7 +72,7 @@ public class Regexp extends IokeData {
         obj.registerMethod(runtime.newNativeMethod("returns a hash for the regular expression", new NativeMethod.WithNoArguments("hash") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     Regexp r = (Regexp)IokeObject.data(on);
                     return context.runtime.newNumber(r.pattern.hashCode() + 13 * r.flags.hashCode());
                 }
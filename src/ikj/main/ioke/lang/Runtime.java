@@ -11,6 +11,8 @@ import ioke.lang.exceptions.ControlFlow;
 
 import ioke.lang.java.ClassRegistry;
 
+import ioke.lang.util.PersistentHashSet;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
@@ -41,6 +43,8 @@ public class Runtime extends IokeData {
     }
 
     public boolean debug = false;
+    // when set, decimals created from text - such as literals - are floating point decimals
+    public boolean floatDecimals = "true".equals(System.getProperty("ioke.floatDecimals"));
     private final int id = getNextId();
     // NOT TO BE EXPOSED TO Ioke - used for internal usage only
     public final IokeObject nul = new IokeObject(this, "NOT TO BE EXPOSED TO Ioke - used for internal usage only");
@@ -52,6 +56,13 @@ public class Runtime extends IokeData {
     public IokeRegistry registry = new IokeRegistry(this);
     public ClassRegistry classRegistry = new ClassRegistry(this);
     public final Interpreter interpreter;
+    final MethodCache methodCache = new MethodCache();
+    final Generations generations = new Generations();
+    final NumberCache numberCache = new NumberCache();
+
+    // shared by the Locals of all method, macro and syntax activations - see Activation
+    IokeObject currentCode;
+    IokeObject superCall;
 
     // Core objects and origins
     public IokeObject base = new IokeObject(this, "Base is the top of the inheritance structure. Most of the objects in the system are derived from this instance. Base should keep its cells to the bare minimum needed for the system.");
@@ -112,6 +123,25 @@ public class Runtime extends IokeData {
     public IokeObject ratio = null;
     public IokeObject infinity = null;
 
+    // the builtin methods an integer counts with, so that loops can
+    // count without sending messages when they haven't been overridden
+    IokeObject integerSucc = null;
+    IokeObject integerPred = null;
+    IokeObject rationalEquals = null;
+
+    // the builtin arithmetic and comparison of numbers, so that lists
+    // of unboxed numbers can be summed and sorted without sending
+    // messages when they haven't been overridden
+    IokeObject rationalPlus = null;
+    IokeObject rationalCompare = null;
+    IokeObject decimalPlus = null;
+    IokeObject decimalCompare = null;
+
+    // the == and hash every object gets from Base, which only look at
+    // the identity of the receiver
+    IokeObject baseEquals = null;
+    IokeObject baseHash = null;
+
     // Core messages
     public IokeObject asText = newMessage("asText");
     public IokeObject asRational = newMessage("asRational");
@@ -332,6 +362,7 @@ public class Runtime extends IokeData {
 
         Reflector.init(this);
         Hook.init(this);
+        Activation.init(this);
 
         Sequence.init(sequence);
         iteratorSequence.init();
@@ -632,11 +663,37 @@ public class Runtime extends IokeData {
         return obj;
     }
 
+    private IokeObject lexicalContextKind;
+
     public IokeObject newLexicalContext(Object ground, String documentation, IokeObject surroundingContext) {
-        IokeObject obj = this.lexicalContext.allocateCopy(null, null);
+        return newLexicalContext(ground, documentation, surroundingContext, 0);
+    }
+
+    private static final Shape LEXICAL_CONTEXT_SHAPE = Shape.of("kind");
+
+    /**
+     * Creates a lexical context with its kind cell in place, and room for
+     * extraCells more cells, so that binding the arguments of a block
+     * doesn't have to grow it.
+     */
+    IokeObject newLexicalContext(Object ground, String documentation, IokeObject surroundingContext, int extraCells) {
+        IokeObject kind = lexicalContextKind;
+        if(kind == null) {
+            // all lexical contexts share the same frozen kind text
+            kind = newText("LexicalContext");
+            kind.setFrozen(true);
+            lexicalContextKind = kind;
+        }
+
+        IokeObject obj = new IokeObject(this, null, new LexicalContext(ground, surroundingContext));
         obj.singleMimicsWithoutCheck(this.lexicalContext);
-        obj.setData(new LexicalContext(ground, surroundingContext));
-        obj.setKind("LexicalContext");
+        if(Body.USE_SHAPES && LEXICAL_CONTEXT_SHAPE != null) {
+            Object[] values = new Object[1 + extraCells];
+            values[0] = kind;
+            obj.body.initCells(LEXICAL_CONTEXT_SHAPE, values);
+        } else {
+            obj.setCell("kind", kind);
+        }
         obj.body.flags |= IokeObject.LEXICAL_F;
         return obj;
     }
@@ -649,6 +706,22 @@ public class Runtime extends IokeData {
     }
 
     public IokeObject newDecimal(String number) throws ControlFlow {
+        // literals too large for a double stay exact, just as asFloat
+        // leaves them
+        if(floatDecimals) {
+            double d = Double.parseDouble(number);
+            if(!Double.isInfinite(d)) {
+                return newDecimal(d);
+            }
+        }
+
+        IokeObject obj = this.decimal.allocateCopy(null, null);
+        obj.singleMimicsWithoutCheck(this.decimal);
+        obj.setData(Decimal.decimal(number));
+        return obj;
+    }
+
+    public IokeObject newDecimal(double number) throws ControlFlow {
         IokeObject obj = this.decimal.allocateCopy(null, null);
         obj.singleMimicsWithoutCheck(this.decimal);
         obj.setData(Decimal.decimal(number));
@@ -683,12 +756,10 @@ public class Runtime extends IokeData {
                 obj.singleMimicsWithoutCheck(objWrap);
                 obj.setData(JavaWrapper.wrapWithMethods(clz, obj, this));
 
-                Body.Cell c = obj.body.firstAdded;
-                while(c != null) {
-                    if(c.name.startsWith("class:")) {
-                        objWrap.body.put(c.name, c.value);
+                for(String name : obj.body.names()) {
+                    if(name.startsWith("class:")) {
+                        objWrap.body.put(name, obj.body.get(name));
                     }
-                    c = c.orderedNext;
                 }
 
                 return obj;
@@ -746,23 +817,27 @@ public class Runtime extends IokeData {
     }
 
     public IokeObject newNumber(long number) {
-        return newNumber(Number.getFrom(number));
-    }
-
-    private Map<IntNum, IokeObject> numCache = new HashMap<IntNum, IokeObject>();
-
-    public IokeObject newNumber(IntNum number) {
-        IokeObject obj = null;
-        obj = numCache.get(number);
+        IokeObject obj = numberCache.get(number);
         if(obj == null) {
             obj = this.integer.allocateCopy(null, null);
             obj.singleMimicsWithoutCheck(this.integer);
             obj.setData(Number.integer(number));
-            numCache.put(number, obj);
+            numberCache.put(number, obj);
         }
         return obj;
     }
 
+    public IokeObject newNumber(IntNum number) {
+        if(number.words == null || number.intLength() < 64) {
+            return newNumber(number.longValue());
+        }
+
+        IokeObject obj = this.integer.allocateCopy(null, null);
+        obj.singleMimicsWithoutCheck(this.integer);
+        obj.setData(Number.integer(number));
+        return obj;
+    }
+
     public IokeObject newNumber(RatNum number) {
         if(number instanceof IntNum) {
             return newNumber((IntNum)number);
@@ -834,7 +909,11 @@ public class Runtime extends IokeData {
     public IokeObject newSet(Collection<Object> objs) {
         IokeObject obj = this.set.allocateCopy(null, null);
         obj.singleMimicsWithoutCheck(this.set);
-        obj.setData(new IokeSet(new HashSet<Object>(objs)));
+        if(objs instanceof PersistentHashSet) {
+            obj.setData(new IokeSet(new PersistentHashSet<Object>(objs)));
+        } else {
+            obj.setData(new IokeSet(new HashSet<Object>(objs)));
+        }
         return obj;
     }
 
@@ -850,9 +929,9 @@ public class Runtime extends IokeData {
     }
 
     public IokeObject newList(List<Object> list, IokeObject orig) {
-        IokeObject obj = orig.allocateCopy(null, null);
+        // not allocateCopy, since that would copy the elements of orig
+        IokeObject obj = new IokeObject(this, null, new IokeList(list));
         obj.singleMimicsWithoutCheck(orig);
-        obj.setData(new IokeList(list));
         return obj;
     }
 
@@ -1249,6 +1328,55 @@ public class Runtime extends IokeData {
                 }
             }));
 
+        obj.registerMethod(obj.runtime.newNativeMethod("returns the number of cell lookups that have been answered by the global method cache of the runtime it's called on", new TypeCheckingNativeMethod.WithNoArguments("methodCacheHits", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    return method.runtime.newNumber(r.methodCache.hits);
+                }
+            }));
+
+        obj.registerMethod(obj.runtime.newNativeMethod("returns the number of cell lookups that the global method cache of the runtime it's called on couldn't answer", new TypeCheckingNativeMethod.WithNoArguments("methodCacheMisses", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    return method.runtime.newNumber(r.methodCache.misses);
+                }
+            }));
+
+        obj.registerMethod(obj.runtime.newNativeMethod("empties the global method cache of the runtime it's called on, and resets the hit and miss counters. returns nil.", new TypeCheckingNativeMethod.WithNoArguments("clearMethodCache!", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    r.methodCache.clear();
+                    return method.runtime.nil;
+                }
+            }));
+
+        obj.registerMethod(obj.runtime.newNativeMethod("returns the number of integers that have been taken from the number cache of the runtime it's called on, instead of being created", new TypeCheckingNativeMethod.WithNoArguments("numberCacheHits", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    return method.runtime.newNumber(r.numberCache.hits);
+                }
+            }));
+
+        obj.registerMethod(obj.runtime.newNativeMethod("returns the number of integers that the number cache of the runtime it's called on didn't have, and that had to be created", new TypeCheckingNativeMethod.WithNoArguments("numberCacheMisses", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    return method.runtime.newNumber(r.numberCache.misses);
+                }
+            }));
+
+        obj.registerMethod(obj.runtime.newNativeMethod("returns the number of integers currently held by the number cache of the runtime it's called on", new TypeCheckingNativeMethod.WithNoArguments("numberCacheSize", obj) {
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    Runtime r = (Runtime)IokeObject.data(on);
+                    return method.runtime.newNumber(r.numberCache.size);
+                }
+            }));
+
         obj.registerMethod(obj.runtime.newNativeMethod("creates a new runtime and returns that. be careful using this since it will result in some fairly strange behavior if used incorrectly. it will not copy the state of this runtime, but just create a new one from scratch.", new TypeCheckingNativeMethod.WithNoArguments("create", obj) {
                 @Override
                 public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
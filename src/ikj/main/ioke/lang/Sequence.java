@@ -4,6 +4,7 @@
 package ioke.lang;
 
 import ioke.lang.exceptions.ControlFlow;
+import ioke.lang.mixins.Enumerable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +12,181 @@ import java.util.Map;
 import java.util.Iterator;
 
 public class Sequence {
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int REJECT = 2;
+
+    private static final Object NONE = new Object();
+
+    /**
+     * The data behind Sequence Map, Sequence Filter and Sequence
+     * Reject. A stage created on top of another one of these shares
+     * its source and takes over its steps, so a whole chain of them
+     * pulls each element through with one loop instead of one next
+     * send per stage. Elements the inner stages have already taken
+     * out with next? are picked up from them first.
+     */
+    public static class Pipeline extends IokeData {
+        private final Object source;
+        private final Iterator<Object> sourceIterator;
+        private final Pipeline parent;
+        private final int[] kinds;
+        private final Enumerable.Transform[] transforms;
+
+        private boolean hasCurrent = false;
+        private Object current;
+
+        public Pipeline(int kind) {
+            this(null, null, null, new int[]{kind}, new Enumerable.Transform[1]);
+        }
+
+        int kind() {
+            return kinds[kinds.length - 1];
+        }
+
+        Object transformValue(Object value) throws ControlFlow {
+            Enumerable.Transform transform = transforms[transforms.length - 1];
+            return transform == null ? value : transform.apply(value);
+        }
+
+        boolean hasCurrent() {
+            return hasCurrent;
+        }
+
+        private Pipeline(Object source, Iterator<Object> sourceIterator, Pipeline parent, int[] kinds, Enumerable.Transform[] transforms) {
+            this.source = source;
+            this.sourceIterator = sourceIterator;
+            this.parent = parent;
+            this.kinds = kinds;
+            this.transforms = transforms;
+        }
+
+        static Pipeline create(Object wrapped, int kind, Enumerable.Transform transform, IokeObject context) {
+            Runtime runtime = context.runtime;
+            Object data = IokeObject.data(wrapped);
+            if(data instanceof Pipeline && isPipeline(wrapped, runtime)) {
+                Pipeline inner = (Pipeline)data;
+                int length = inner.kinds.length;
+                int[] kinds = new int[length + 1];
+                Enumerable.Transform[] transforms = new Enumerable.Transform[length + 1];
+                System.arraycopy(inner.kinds, 0, kinds, 0, length);
+                System.arraycopy(inner.transforms, 0, transforms, 0, length);
+                kinds[length] = kind;
+                transforms[length] = transform;
+                return new Pipeline(inner.source, inner.sourceIterator, inner, kinds, transforms);
+            }
+
+            Iterator<Object> iter = null;
+            if(data instanceof IteratorSequence
+               && IokeObject.findCell((IokeObject)wrapped, "next") == IokeObject.findCell(runtime.iteratorSequence, "next")
+               && IokeObject.findCell((IokeObject)wrapped, "next?") == IokeObject.findCell(runtime.iteratorSequence, "next?")) {
+                iter = ((IteratorSequence)data).iter;
+            }
+            return new Pipeline(wrapped, iter, null, new int[]{kind}, new Enumerable.Transform[]{transform});
+        }
+
+        private static boolean isPipeline(Object obj, Runtime runtime) {
+            return IokeObject.data(IokeObject.findCell((IokeObject)obj, "next")) instanceof Next
+                && IokeObject.data(IokeObject.findCell((IokeObject)obj, "next?")) instanceof Next;
+        }
+
+        private Object pull(IokeObject context) throws ControlFlow {
+            Runtime runtime = context.runtime;
+            while(true) {
+                Pipeline holder = parent;
+                while(holder != null && !holder.hasCurrent) {
+                    holder = holder.parent;
+                }
+
+                Object element;
+                int from;
+                if(holder != null) {
+                    element = holder.current;
+                    holder.current = null;
+                    holder.hasCurrent = false;
+                    from = holder.kinds.length;
+                } else if(sourceIterator != null) {
+                    if(!sourceIterator.hasNext()) {
+                        return NONE;
+                    }
+                    element = sourceIterator.next();
+                    from = 0;
+                } else if(source != null) {
+                    if(!IokeObject.isTrue(Interpreter.send(runtime.nextPMessage, context, source))) {
+                        return NONE;
+                    }
+                    element = Interpreter.send(runtime.nextMessage, context, source);
+                    from = 0;
+                } else {
+                    return NONE;
+                }
+
+                element = apply(element, from);
+                if(element != NONE) {
+                    return element;
+                }
+            }
+        }
+
+        private Object apply(Object element, int from) throws ControlFlow {
+            for(int i = from; i < kinds.length; i++) {
+                switch(kinds[i]) {
+                case MAP:
+                    element = transforms[i].apply(element);
+                    break;
+                case FILTER:
+                    if(!IokeObject.isTrue(transforms[i].apply(element))) {
+                        return NONE;
+                    }
+                    break;
+                case REJECT:
+                    if(IokeObject.isTrue(transforms[i].apply(element))) {
+                        return NONE;
+                    }
+                    break;
+                }
+            }
+            return element;
+        }
+
+        boolean hasNext(IokeObject context) throws ControlFlow {
+            if(!hasCurrent) {
+                Object element = pull(context);
+                if(element == NONE) {
+                    return false;
+                }
+                current = element;
+                hasCurrent = true;
+            }
+            return true;
+        }
+
+        Object next(IokeObject context) throws ControlFlow {
+            if(hasCurrent) {
+                Object element = current;
+                current = null;
+                hasCurrent = false;
+                return element;
+            }
+            Object element = pull(context);
+            return element == NONE ? context.runtime.nil : element;
+        }
+
+        @Override
+        public IokeData cloneData(IokeObject obj, IokeObject m, IokeObject context) {
+            Pipeline clone = new Pipeline(source, sourceIterator, parent, kinds, transforms);
+            clone.hasCurrent = hasCurrent;
+            clone.current = current;
+            return clone;
+        }
+    }
+
+    private abstract static class Next extends NativeMethod.WithNoArguments {
+        Next(String name) {
+            super(name);
+        }
+    }
+
     public static class IteratorSequence extends IokeData {
         private final Iterator<Object> iter;
         public IteratorSequence(Iterator<Object> iter) {
@@ -66,9 +242,140 @@ public class Sequence {
         }
     }
 
+    private static Pipeline pipeline(IokeObject method, Object on, IokeObject context, IokeObject message) throws ControlFlow {
+        return (Pipeline)IokeObject.data(IokeObject.ensureTypeIs(Pipeline.class, method, on, context, message));
+    }
+
+    private static IokeObject stage(final IokeObject sequence, int stageKind, String kind, String doc, IokeObject... methods) throws ControlFlow {
+        IokeObject obj = new IokeObject(sequence.runtime, doc, new Pipeline(stageKind));
+        obj.singleMimicsWithoutCheck(sequence);
+        obj.setKind(kind);
+        for(IokeObject method : methods) {
+            obj.registerMethod(method);
+        }
+        return obj;
+    }
+
+    private static IokeObject newStage(IokeObject stage, int kind, Object wrapped, IokeObject ground, List<Object> messages, List<Object> rest, IokeObject context, IokeObject message) throws ControlFlow {
+        Runtime runtime = context.runtime;
+        Enumerable.Transform transform = Enumerable.transform(ground, messages, message, wrapped);
+        IokeObject obj = stage.allocateCopy(message, context);
+        obj.singleMimicsWithoutCheck(stage);
+        obj.setData(Pipeline.create(wrapped, kind, transform, context));
+        obj.setCell("wrappedSequence", wrapped);
+        obj.setCell("context", ground);
+        obj.setCell("messages", runtime.newList(messages));
+        obj.setCell("restArguments", runtime.newList(rest));
+        return obj;
+    }
+
     public static void init(IokeObject obj) throws ControlFlow {
         final Runtime runtime = obj.runtime;
         obj.setKind("Sequence");
         obj.singleMimicsWithoutCheck(runtime.origin);
+
+        IokeObject next = runtime.newNativeMethod("returns the next object from this sequence if it exists, otherwise nil", new Next("next") {
+                @Override
+                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    getArguments().evaluateNoArguments(context, message, on);
+                    return pipeline(method, on, context, message).next(context);
+                }
+            });
+
+        IokeObject nextP = runtime.newNativeMethod("returns true if there is another object in this sequence.", new Next("next?") {
+                @Override
+                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    getArguments().evaluateNoArguments(context, message, on);
+                    return pipeline(method, on, context, message).hasNext(context) ? context.runtime._true : context.runtime._false;
+                }
+            });
+
+        IokeObject create = runtime.newNativeMethod("takes the sequence to wrap, the ground to evaluate the messages in, a list of zero, one or two messages and any number of extra arguments, and returns a new stage of the same kind as the receiver, wrapping that sequence", new NativeMethod("create") {
+                private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
+                    .builder()
+                    .withRequiredPositional("wrappedSequence")
+                    .withRequiredPositional("context")
+                    .withRequiredPositional("messages")
+                    .withRest("rest")
+                    .getArguments();
+
+                @Override
+                public DefaultArgumentsDefinition getArguments() {
+                    return ARGUMENTS;
+                }
+
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    IokeObject stage = IokeObject.as(on, context);
+                    int kind = pipeline(method, stage, context, message).kind();
+                    return newStage(stage, kind, args.get(0), IokeObject.as(args.get(1), context), new ArrayList<Object>(IokeList.getList(args.get(2))), new ArrayList<Object>(args.subList(3, args.size())), context, message);
+                }
+            });
+
+        IokeObject transformValue = runtime.newNativeMethod("takes one argument and returns it transformed by the messages this stage was created with - or the argument itself if there are none", new NativeMethod("transformValue") {
+                private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
+                    .builder()
+                    .withRequiredPositional("inputValue")
+                    .getArguments();
+
+                @Override
+                public DefaultArgumentsDefinition getArguments() {
+                    return ARGUMENTS;
+                }
+
+                @Override
+                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    return pipeline(method, on, context, message).transformValue(args.get(0));
+                }
+            });
+
+        IokeObject currentP = runtime.newNativeMethod("returns true if next? has already taken out the element the next call to next will return", new NativeMethod.WithNoArguments("current?") {
+                @Override
+                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    getArguments().evaluateNoArguments(context, message, on);
+                    return pipeline(method, on, context, message).hasCurrent() ? context.runtime._true : context.runtime._false;
+                }
+            });
+
+        final IokeObject map = stage(obj, MAP, "Sequence Map", "a sequence that transforms the elements of another sequence", next, nextP, create, transformValue, currentP);
+        final IokeObject filter = stage(obj, FILTER, "Sequence Filter", "a sequence that only gives back the elements of another sequence that match a predicate", next, nextP, create, transformValue, currentP);
+        final IokeObject reject = stage(obj, REJECT, "Sequence Reject", "a sequence that only gives back the elements of another sequence that don't match a predicate", next, nextP, create, transformValue, currentP);
+        obj.registerCell("Map", map);
+        obj.registerCell("Filter", filter);
+        obj.registerCell("Reject", reject);
+
+        String[][] stages = new String[][] {
+            {"mapped", "collected"},
+            {"filtered", "selected"},
+            {"rejected"}
+        };
+        String[] docs = new String[] {
+            "takes zero, one or two arguments, in the same way as map, and returns a new Sequence Map that lazily transforms the elements of this sequence",
+            "takes zero, one or two arguments, in the same way as select, and returns a new Sequence Filter that lazily gives back the elements of this sequence that match",
+            "takes zero, one or two arguments, in the same way as reject, and returns a new Sequence Reject that lazily gives back the elements of this sequence that don't match"
+        };
+        final IokeObject[] kinds = new IokeObject[] {map, filter, reject};
+
+        for(int i = 0; i < stages.length; i++) {
+            final int kind = i;
+            for(String name : stages[i]) {
+                obj.registerMethod(runtime.newNativeMethod(docs[i], new NativeMethod(name) {
+                        private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
+                            .builder()
+                            .withRestUnevaluated("arguments")
+                            .getArguments();
+
+                        @Override
+                        public DefaultArgumentsDefinition getArguments() {
+                            return ARGUMENTS;
+                        }
+
+                        @Override
+                        public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                            return newStage(kinds[kind], kind, on, context, new ArrayList<Object>(message.getArguments()), new ArrayList<Object>(), context, message);
+                        }
+                    }));
+            }
+        }
     }
 }
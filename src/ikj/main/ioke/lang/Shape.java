@@ -0,0 +1,147 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang;
+
+/**
+ * A Shape describes the layout of the cells of a Body - which names exist, in
+ * what order they were added, and at which index in the value array each one
+ * lives. Shapes form a transition tree rooted in EMPTY, so all objects that get
+ * the same cells added in the same order end up sharing the same Shape
+ * instance. That makes the Shape a cheap identity to key caches on.
+ *
+ * Shapes are only used for small objects - when a Body grows beyond MAX_SIZE
+ * cells it switches over to a private hash table instead.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+final class Shape {
+    static final int MAX_SIZE = 16;
+    static final int MAX_TRANSITIONS = 64;
+
+    static final Shape EMPTY = new Shape(new String[0], new int[0]);
+
+    final String[] names;
+    final int[] hashes;
+
+    // an open addressed table of the shapes that add one cell to this
+    // one. it is copied on write, so it can be read without locking.
+    private volatile Shape[] transitions = null;
+    private int transitionCount = 0;
+
+    private Shape(String[] names, int[] hashes) {
+        this.names = names;
+        this.hashes = hashes;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    int indexOf(String name, int hash) {
+        final int[] hs = hashes;
+        for(int i = 0, j = hs.length; i < j; i++) {
+            if(hs[i] == hash) {
+                String n = names[i];
+                if(n == name || name.equals(n)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the shape that has the same cells as this one, with name
+     * added at the end - or null if there is no room for more transitions,
+     * in which case the caller should fall back to a hash table.
+     */
+    Shape withCell(String name, int hash) {
+        Shape next = findTransition(transitions, name, hash);
+        if(next != null) {
+            return next;
+        }
+
+        if(names.length == MAX_SIZE) {
+            return null;
+        }
+
+        synchronized(this) {
+            Shape[] current = transitions;
+            next = findTransition(current, name, hash);
+            if(next == null) {
+                if(transitionCount == MAX_TRANSITIONS) {
+                    return null;
+                }
+
+                int size = names.length;
+                String[] newNames = new String[size + 1];
+                int[] newHashes = new int[size + 1];
+                System.arraycopy(names, 0, newNames, 0, size);
+                System.arraycopy(hashes, 0, newHashes, 0, size);
+                newNames[size] = name.intern();
+                newHashes[size] = hash;
+                next = new Shape(newNames, newHashes);
+
+                int length = current == null ? 4 : current.length;
+                if(2 * (transitionCount + 1) > length) {
+                    length *= 2;
+                }
+                Shape[] newTransitions = new Shape[length];
+                if(current != null) {
+                    for(Shape s : current) {
+                        if(s != null) {
+                            insert(newTransitions, s, s.hashes[s.names.length - 1]);
+                        }
+                    }
+                }
+                insert(newTransitions, next, hash);
+                transitionCount++;
+                transitions = newTransitions;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Returns the shape that has exactly the given cells in the given order,
+     * or null if it can't be represented as a shape.
+     */
+    static Shape of(String... names) {
+        Shape shape = EMPTY;
+        for(int i = 0; i < names.length && shape != null; i++) {
+            shape = shape.withCell(names[i], names[i].hashCode());
+        }
+        return shape;
+    }
+
+    private static void insert(Shape[] table, Shape shape, int hash) {
+        int mask = table.length - 1;
+        int ix = hash & mask;
+        while(table[ix] != null) {
+            ix = (ix + 1) & mask;
+        }
+        table[ix] = shape;
+    }
+
+    private static Shape findTransition(Shape[] table, String name, int hash) {
+        if(table == null) {
+            return null;
+        }
+
+        int mask = table.length - 1;
+        int ix = hash & mask;
+        Shape s;
+        while((s = table[ix]) != null) {
+            int last = s.names.length - 1;
+            if(s.hashes[last] == hash) {
+                String n = s.names[last];
+                if(n == name || name.equals(n)) {
+                    return s;
+                }
+            }
+            ix = (ix + 1) & mask;
+        }
+        return null;
+    }
+}// Shape
@@ -6,7 +6,6 @@ package ioke.lang;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
 
 import java.util.regex.Pattern;
 
@@ -28,23 +27,10 @@ public class Symbol extends IokeData {
         obj.setKind("Symbol");
         obj.mimics(IokeObject.as(obj.runtime.mixins.getCell(null, null, "Comparing"), null), obj.runtime.nul, obj.runtime.nul);
 
-        obj.registerMethod(obj.runtime.newNativeMethod("returns true if the left hand side symbol is equal to the right hand side symbol.", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(obj.runtime.symbol)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        obj.registerMethod(obj.runtime.newNativeMethod("returns true if the left hand side symbol is equal to the right hand side symbol.", new TypeCheckingNativeMethod.Equality(obj.runtime.symbol, Symbol.class) {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
-                    Object other = args.get(0);
-                    return on == other ? context.runtime._true : context.runtime._false;
+                public boolean isEqual(IokeObject on, Object other) {
+                    return on == other;
                 }
             }));
 
@@ -69,21 +55,9 @@ public class Symbol extends IokeData {
                 }
             }));
 
-        obj.registerMethod(obj.runtime.newNativeMethod("compares this symbol against the argument, returning -1, 0 or 1 based on which one is lexically larger", new TypeCheckingNativeMethod("<=>") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(obj.runtime.symbol)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        obj.registerMethod(obj.runtime.newNativeMethod("compares this symbol against the argument, returning -1, 0 or 1 based on which one is lexically larger", new TypeCheckingNativeMethod.WithOneArgument("<=>", obj.runtime.symbol, "other") {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject method, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject method, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
 
                     if(!(IokeObject.data(arg) instanceof Symbol)) {
                         arg = IokeObject.convertToSymbol(arg, message, context, false);
@@ -35,42 +35,28 @@ public class Text extends IokeData {
         obj.setKind("Text");
         obj.mimics(IokeObject.as(obj.runtime.mixins.getCell(null, null, "Comparing"), null), obj.runtime.nul, obj.runtime.nul);
 
-        obj.registerMethod(runtime.newNativeMethod("returns a hash for the text", new NativeMethod.WithNoArguments("hash") {
+        obj.registerMethod(runtime.newNativeMethod("returns a hash for the text", new NativeMethod.Hash(Text.class) {
                 @Override
-                public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
-                    return context.runtime.newNumber(((Text)IokeObject.data(on)).text.hashCode());
+                public int hash(IokeObject on) {
+                    return ((Text)IokeObject.data(on)).text.hashCode();
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side text is equal to the right hand side text.", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.text)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side text is equal to the right hand side text.", new TypeCheckingNativeMethod.Equality(runtime.text, Text.class) {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
-                @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
-                    Object other = args.get(0);
+                public boolean isEqual(IokeObject on, Object other) {
                     String real = Text.getText(on);
-                    return (((other instanceof IokeObject) &&
-                             (IokeObject.data(other) instanceof Text)
-                             && ((on == self.runtime.text || other == self.runtime.text) ? on == other :
-                                 real.equals(((Text)IokeObject.data(other)).text)))) ? context.runtime._true : context.runtime._false;
+                    return ((other instanceof IokeObject) &&
+                            (IokeObject.data(other) instanceof Text)
+                            && ((on == runtime.text || other == runtime.text) ? on == other :
+                                real.equals(((Text)IokeObject.data(other)).text)));
                 }
             }));
 
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a text representation of the object", new NativeMethod.WithNoArguments("asText") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return on;
                 }
             }));
@@ -78,7 +64,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Converts the content of this text into a rational value", new TypeCheckingNativeMethod.WithNoArguments("toRational", runtime.text) {
                 @Override
                 public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return Text.toRational(on, context, message);
                 }
             }));
@@ -86,7 +72,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Converts the content of this text into a decimal value", new TypeCheckingNativeMethod.WithNoArguments("toDecimal", runtime.text) {
                 @Override
                 public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return Text.toDecimal(on, context, message);
                 }
             }));
@@ -94,7 +80,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a text inspection of the object", new NativeMethod.WithNoArguments("inspect") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return method.runtime.newText(Text.getInspect(on));
                 }
             }));
@@ -102,7 +88,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a text where all non-safe characters have been replaced with safe ones", new NativeMethod.WithNoArguments("makeXMLSafe") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return method.runtime.newText(new StringUtils().xmlSafe(Text.getText(on)));
                 }
             }));
@@ -110,7 +96,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a brief text inspection of the object", new NativeMethod.WithNoArguments("notice") {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return method.runtime.newText(Text.getInspect(on));
                 }
             }));
@@ -118,7 +104,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a lower case version of this text", new TypeCheckingNativeMethod.WithNoArguments("lower", runtime.text) {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getValidatedArgumentsAndReceiver(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().getValidatedReceiver(context, message, on);
                     return method.runtime.newText(Text.getText(on).toLowerCase());
                 }
             }));
@@ -126,7 +112,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns an upper case version of this text", new TypeCheckingNativeMethod.WithNoArguments("upper", runtime.text) {
                 @Override
                 public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                    getArguments().getValidatedArgumentsAndReceiver(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().getValidatedReceiver(context, message, on);
                     return method.runtime.newText(Text.getText(on).toUpperCase());
                 }
             }));
@@ -134,7 +120,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a version of this text with leading and trailing whitespace removed", new TypeCheckingNativeMethod.WithNoArguments("trim", runtime.text) {
             @Override
             public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-              getArguments().getValidatedArgumentsAndReceiver(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+              getArguments().getValidatedReceiver(context, message, on);
               return method.runtime.newText(Text.getText(on).trim());
             }
           }));
@@ -255,7 +241,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns the length of this text", new TypeCheckingNativeMethod.WithNoArguments("length", runtime.text) {
                 @Override
                 public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newNumber(getText(on).length());
                 }
             }));
@@ -403,7 +389,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a symbol representing the Unicode category of the character", new NativeMethod.WithNoArguments("category") {
             @Override
             public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                getArguments().evaluateNoArguments(context, message, on);
                 String character = getText(on);
                 if(character.length() == 1) {
                   return context.runtime.getSymbol(Character.UnicodeBlock.of(character.codePointAt(0)).toString());
@@ -427,7 +413,7 @@ public class Text extends IokeData {
         obj.registerMethod(obj.runtime.newNativeMethod("Returns a new text where all the escapes in the current text have been evaluated - exactly as if another parsing step had been applied. This does not evaluate embedded code, though.", new TypeCheckingNativeMethod.WithNoArguments("evaluateEscapes", runtime.text) {
                 @Override
                 public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                    getArguments().evaluateNoArguments(context, message, on);
                     return context.runtime.newText(new StringUtils().replaceEscapes(getText(on)));
                 }
             }));
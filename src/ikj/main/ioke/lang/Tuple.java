@@ -4,6 +4,7 @@
 package ioke.lang;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -74,30 +75,24 @@ public class Tuple extends IokeData {
                     return runtime.newNativeMethod("Returns the object at index " + index + " in the receiving tuple", new NativeMethod.WithNoArguments("_" + index) {
                             @Override
                             public Object activate(IokeObject method, IokeObject context, IokeObject message, Object on) throws ControlFlow {
-                                getArguments().getEvaluatedArguments(context, message, on, new ArrayList<Object>(), new HashMap<String, Object>());
+                                getArguments().evaluateNoArguments(context, message, on);
                                 return ((Tuple)IokeObject.data(on)).elements[index];
                             }
                         });
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side tuple is equal to the right hand side tuple.", new TypeCheckingNativeMethod("==") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.tuple)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
+        obj.registerMethod(runtime.newNativeMethod("returns a hash for the tuple", new NativeMethod.Hash(Tuple.class) {
                 @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
+                public int hash(IokeObject on) {
+                    return Arrays.hashCode(((Tuple)IokeObject.data(on)).elements);
                 }
+            }));
 
+        obj.registerMethod(runtime.newNativeMethod("returns true if the left hand side tuple is equal to the right hand side tuple.", new TypeCheckingNativeMethod.Equality(runtime.tuple, Tuple.class) {
                 @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    getArguments().getEvaluatedArguments(context, message, on, args, new HashMap<String, Object>());
+                public boolean isEqual(IokeObject on, Object other) {
                     Tuple d = (Tuple)IokeObject.data(on);
-                    Object other = args.get(0);
                     boolean notResult = false;
                     if((other instanceof IokeObject) &&
                        (IokeObject.data(other) instanceof Tuple)) {
@@ -117,25 +112,13 @@ public class Tuple extends IokeData {
                         notResult = true;
                     }
 
-                    return !notResult ? context.runtime._true : context.runtime._false;
+                    return !notResult;
                 }
             }));
 
-        obj.registerMethod(runtime.newNativeMethod("Compares this object against the argument. The comparison is only based on the elements inside the tuple, which are in turn compared using <=>.", new TypeCheckingNativeMethod("<=>") {
-                private final TypeCheckingArgumentsDefinition ARGUMENTS = TypeCheckingArgumentsDefinition
-                    .builder()
-                    .receiverMustMimic(runtime.tuple)
-                    .withRequiredPositional("other")
-                    .getArguments();
-
-                @Override
-                public TypeCheckingArgumentsDefinition getArguments() {
-                    return ARGUMENTS;
-                }
-
+        obj.registerMethod(runtime.newNativeMethod("Compares this object against the argument. The comparison is only based on the elements inside the tuple, which are in turn compared using <=>.", new TypeCheckingNativeMethod.WithOneArgument("<=>", runtime.tuple, "other") {
                 @Override
-                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
-                    Object arg = args.get(0);
+                public Object activate(IokeObject self, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
                     Object[] one = ((Tuple)IokeObject.data(on)).elements;
                     Object[] two = ((Tuple)IokeObject.data(arg)).elements;
 
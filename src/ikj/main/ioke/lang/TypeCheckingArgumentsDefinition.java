@@ -54,6 +54,23 @@ public class TypeCheckingArgumentsDefinition extends DefaultArgumentsDefinition
         return receiverMustMimic.convertToMimic(on, message, context, true);
     }
 
+    /**
+     * Checks that no arguments were given, and returns the receiver
+     * converted the same way getValidatedArgumentsAndReceiver does.
+     */
+    public Object getValidatedReceiver(IokeObject context, IokeObject message, Object on) throws ControlFlow {
+        evaluateNoArguments(context, message, on);
+        return receiverMustMimic.convertToMimic(on, message, context, true);
+    }
+
+    /**
+     * Returns the receiver converted to what this definition says it
+     * must mimic.
+     */
+    public Object convertReceiver(Object on, IokeObject message, IokeObject context) throws ControlFlow {
+        return receiverMustMimic.convertToMimic(on, message, context, true);
+    }
+
     public static TypeCheckingArgumentsDefinition empty() {
         return new TypeCheckingArgumentsDefinition(new ArrayList<Argument>(), new ArrayList<String>(), null, null, 0, 0, false, new ArrayList<TypeChecker>(), TypeChecker.None);
     }
@@ -25,6 +25,118 @@ public abstract class TypeCheckingNativeMethod extends NativeMethod {
         public TypeCheckingArgumentsDefinition getArguments() {
             return ARGUMENTS;
         }
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context,
+                IokeObject message, Object on) throws ControlFlow {
+            Object receiver = getArguments().getValidatedReceiver(context, message, on);
+            return activate(self, receiver, NO_ARGUMENTS, NO_KEYWORDS, context, message);
+        }
+    }
+
+    /**
+     * A method that takes exactly one evaluated argument, such as the
+     * binary operators. When called with one plain argument, the
+     * argument is evaluated and handed directly to activate, without
+     * building any argument lists. Splats, keywords and the wrong number
+     * of arguments go through the regular argument handling.
+     */
+    public abstract static class WithOneArgument extends TypeCheckingNativeMethod {
+        private final TypeCheckingArgumentsDefinition ARGUMENTS;
+
+        public WithOneArgument(String name, IokeObject mimic, String argumentName) {
+            super(name);
+            ARGUMENTS = TypeCheckingArgumentsDefinition
+                .builder()
+                .receiverMustMimic(mimic)
+                .withRequiredPositional(argumentName)
+                .getArguments();
+        }
+
+        @Override
+        public TypeCheckingArgumentsDefinition getArguments() {
+            return ARGUMENTS;
+        }
+
+        public abstract Object activate(IokeObject self, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow;
+
+        @Override
+        public Object activate(IokeObject self, Object on, List<Object> args,
+                Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+            return activate(self, on, args.get(0), context, message);
+        }
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context,
+                IokeObject message, Object on) throws ControlFlow {
+            Object arg = ARGUMENTS.evaluateOneArgument(context, message, on);
+            return activate(self, ARGUMENTS.convertReceiver(on, message, context), arg, context, message);
+        }
+    }
+
+    /**
+     * Like WithOneArgument, for methods that take exactly two evaluated
+     * arguments.
+     */
+    public abstract static class WithTwoArguments extends TypeCheckingNativeMethod {
+        private final TypeCheckingArgumentsDefinition ARGUMENTS;
+
+        public WithTwoArguments(String name, IokeObject mimic, String firstName, String secondName) {
+            super(name);
+            ARGUMENTS = TypeCheckingArgumentsDefinition
+                .builder()
+                .receiverMustMimic(mimic)
+                .withRequiredPositional(firstName)
+                .withRequiredPositional(secondName)
+                .getArguments();
+        }
+
+        @Override
+        public TypeCheckingArgumentsDefinition getArguments() {
+            return ARGUMENTS;
+        }
+
+        public abstract Object activate(IokeObject self, Object on, Object first, Object second, IokeObject context, IokeObject message) throws ControlFlow;
+
+        @Override
+        public Object activate(IokeObject self, Object on, List<Object> args,
+                Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+            return activate(self, on, args.get(0), args.get(1), context, message);
+        }
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context,
+                IokeObject message, Object on) throws ControlFlow {
+            Object[] args = new Object[2];
+            ARGUMENTS.evaluateArguments(context, message, on, args);
+            return activate(self, ARGUMENTS.convertReceiver(on, message, context), args[0], args[1], context, message);
+        }
+    }
+
+    /**
+     * A builtin == that can compare its receiver in Java. When a Dict key
+     * or Set member would receive one of these, IokeData.isEqualTo calls
+     * isEqual directly instead of sending ==, as long as the receiver has
+     * the kind of data the method is written for.
+     */
+    public abstract static class Equality extends WithOneArgument {
+        private final Class<? extends IokeData> dataType;
+
+        public Equality(IokeObject mimic, Class<? extends IokeData> dataType) {
+            super("==", mimic, "other");
+            this.dataType = dataType;
+        }
+
+        public boolean handles(IokeObject on) {
+            return dataType.isInstance(on.data);
+        }
+
+        public abstract boolean isEqual(IokeObject on, Object other) throws ControlFlow;
+
+        @Override
+        public Object activate(IokeObject self, Object on, Object arg, IokeObject context, IokeObject message) throws ControlFlow {
+            return isEqual((IokeObject)on, arg) ? context.runtime._true : context.runtime._false;
+        }
     }
 
     public TypeCheckingNativeMethod(String name) {
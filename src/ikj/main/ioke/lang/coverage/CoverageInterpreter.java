@@ -68,6 +68,12 @@ public class CoverageInterpreter extends Interpreter {
         }
     }
 
+    @Override
+    public Object evaluate(IokeObject self, IokeObject ctx, Object ground, Object receiver, IokeObject frame, int accepts) throws ControlFlow {
+        // flow control always throws while covering
+        return evaluate(self, ctx, ground, receiver);
+    }
+
     @Override
     public Object evaluate(IokeObject self, IokeObject ctx, Object ground, Object receiver) throws ControlFlow {
         ioke.lang.Runtime runtime = self.runtime;
@@ -3,19 +3,752 @@
  */
 package ioke.lang.mixins;
 
-import ioke.lang.Runtime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ioke.lang.DefaultArgumentsDefinition;
+import ioke.lang.Dict;
+import ioke.lang.Interpreter;
+import ioke.lang.IokeList;
 import ioke.lang.IokeObject;
+import ioke.lang.IokeSet;
+import ioke.lang.LexicalBlock;
+import ioke.lang.Message;
 import ioke.lang.NativeMethod;
+import ioke.lang.NumberList;
+import ioke.lang.Pair;
+import ioke.lang.Range;
+import ioke.lang.Runtime;
+import ioke.lang.SpaceshipComparator;
 
 import ioke.lang.exceptions.ControlFlow;
+import ioke.lang.util.OpenHashMap;
 
 /**
+ * The most used Enumerable methods are implemented here instead of
+ * as macros on top of each. Lists, sets, dicts and ranges that still
+ * use their original each are walked directly, everything else gets
+ * each sent to it, just like the Ioke versions do.
  *
  * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
  */
 public class Enumerable {
-    public static void init(IokeObject enumerable) {
-        Runtime runtime = enumerable.runtime;
+    private static final String STEP = "enumerable:step";
+
+    /**
+     * Receives every element yielded, together with the value the
+     * arguments to the method calculated for it.
+     */
+    private abstract static class Step {
+        // returns false when no more elements are needed
+        abstract boolean next(Object element, Object value) throws ControlFlow;
+
+        abstract Object result() throws ControlFlow;
+    }
+
+    /**
+     * Calculates the value for an element, based on the zero, one or
+     * two arguments given - the element itself, a message chain sent
+     * to it, or a lexical block taking it as argument.
+     */
+    public abstract static class Transform {
+        public abstract Object apply(Object element) throws ControlFlow;
+    }
+
+    private static class Identity extends Transform {
+        public Object apply(Object element) {
+            return element;
+        }
+    }
+
+    private static class Chain extends Transform {
+        private final IokeObject code;
+        private final IokeObject ground;
+
+        Chain(IokeObject code, IokeObject ground) {
+            this.code = code;
+            this.ground = ground;
+        }
+
+        public Object apply(Object element) throws ControlFlow {
+            return ground.runtime.interpreter.evaluate(code, ground, ground, element);
+        }
+    }
+
+    private static class Block extends Transform {
+        private final IokeObject block;
+        private final IokeObject ground;
+        private final IokeObject code;
+        private final String name;
+
+        Block(IokeObject block, IokeObject ground, IokeObject code, String name) {
+            this.block = block;
+            this.ground = ground;
+            this.code = code;
+            this.name = name;
+        }
+
+        public Object apply(Object element) throws ControlFlow {
+            Runtime runtime = ground.runtime;
+            if(name == null) {
+                return Interpreter.send(runtime.callMessage, ground, block, argument(element));
+            }
+            IokeObject c = runtime.newLexicalContext(block, "Lexical activation context", ground);
+            c.setCell(name, element);
+            return runtime.interpreter.evaluate(code, c, block, c);
+        }
+    }
+
+    private static class Destructuring extends Transform {
+        private final IokeObject block;
+        private final IokeObject destructor;
+        private final IokeObject ground;
+        private final IokeObject unpack;
+
+        Destructuring(IokeObject block, IokeObject destructor, IokeObject ground, IokeObject unpack) {
+            this.block = block;
+            this.destructor = destructor;
+            this.ground = ground;
+            this.unpack = unpack;
+        }
+
+        public Object apply(Object element) throws ControlFlow {
+            List<Object> values = IokeList.getList(Interpreter.send(unpack, ground, destructor, argument(element)));
+            List<Object> args = new ArrayList<Object>(values.size());
+            for(Object o : values) {
+                args.add(argument(o));
+            }
+            return Interpreter.send(ground.runtime.callMessage, ground, block, args);
+        }
+    }
+
+    /**
+     * The base of all the natives in here. They take zero, one or two
+     * unevaluated arguments, and signal a NoMatch condition otherwise,
+     * in the same way a dmacro would.
+     */
+    private abstract static class Traversal extends NativeMethod {
+        private final DefaultArgumentsDefinition ARGUMENTS = DefaultArgumentsDefinition
+            .builder()
+            .withOptionalPositionalUnevaluated("argOrCode")
+            .withOptionalPositionalUnevaluated("code")
+            .getArguments();
+
+        private final int minArguments;
+
+        Traversal(String name, int minArguments) {
+            super(name);
+            this.minArguments = minArguments;
+        }
+
+        @Override
+        public DefaultArgumentsDefinition getArguments() {
+            return ARGUMENTS;
+        }
+
+        abstract Step start(IokeObject context, IokeObject message) throws ControlFlow;
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+            int argCount = message.getArgumentCount();
+            if(argCount < minArguments || argCount > 2) {
+                final IokeObject condition = IokeObject.as(IokeObject.getCellChain(context.runtime.condition,
+                                                                                   message,
+                                                                                   context,
+                                                                                   "Error",
+                                                                                   "Invocation",
+                                                                                   "NoMatch"), context).mimic(message, context);
+                condition.setCell("message", message);
+                condition.setCell("context", context);
+                context.runtime.errorCondition(condition);
+                return context.runtime.nil;
+            }
+
+            Step step = start(context, message);
+            traverse(context, message, on, transform(context, message, on), step);
+            return step.result();
+        }
+    }
+
+    /**
+     * max and min. A list of unboxed numbers that uses the builtin each
+     * is searched without sending messages when no arguments are given,
+     * as long as the comparisons haven't been overridden.
+     */
+    private static class Extreme extends Traversal {
+        private final boolean largest;
+
+        Extreme(String name, boolean largest) {
+            super(name, 0);
+            this.largest = largest;
+        }
+
+        @Override
+        public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+            if(message.getArgumentCount() == 0) {
+                NumberList numbers = numbers(on, context.runtime);
+                if(numbers != null) {
+                    Object result = numbers.extremeNumber(largest);
+                    if(result != null) {
+                        return result;
+                    }
+                }
+            }
+            return super.activate(self, context, message, on);
+        }
+
+        Step start(final IokeObject context, IokeObject message) {
+            final Runtime runtime = context.runtime;
+            return new Step() {
+                Object found = runtime.nil;
+                Object foundValue = runtime.nil;
+
+                boolean next(Object element, Object value) throws ControlFlow {
+                    if(found == runtime.nil ||
+                       IokeObject.isTrue(Interpreter.send(largest ? runtime.ltMessage : runtime.gtMessage, context, foundValue, argument(value)))) {
+                        found = element;
+                        foundValue = value;
+                    }
+                    return true;
+                }
+
+                Object result() {
+                    return found;
+                }
+            };
+        }
+    }
+
+    private static Object argument(Object value) {
+        if(IokeObject.isMessage(value)) {
+            IokeObject obj = (IokeObject)value;
+            return obj.runtime.createMessage(Message.wrap(obj));
+        }
+        return value;
+    }
+
+    /**
+     * Creates the transform described by the unevaluated arguments of
+     * message, in the way the Enumerable methods and the Sequence
+     * stages interpret them.
+     */
+    public static Transform transform(IokeObject context, IokeObject message, Object on) throws ControlFlow {
+        return transform(context, message.getArguments(), message, on);
+    }
+
+    public static Transform transform(IokeObject context, List<Object> args, IokeObject message, Object on) throws ControlFlow {
+        switch(args.size()) {
+        case 0:
+            return new Identity();
+        case 1:
+            return new Chain(IokeObject.as(args.get(0), context), context);
+        default:
+            Runtime runtime = context.runtime;
+            IokeObject argName = IokeObject.as(args.get(0), context);
+            IokeObject code = IokeObject.as(args.get(1), context);
+            String name = argName.getName();
+            List<Object> blockArgs = new ArrayList<Object>();
+            IokeObject destructor = null;
+            if(name.equals("")) {
+                IokeObject kind = IokeObject.as(IokeObject.getCellChain(runtime.mixins, message, context, "Enumerable", "Destructor"), context);
+                destructor = IokeObject.as(Interpreter.send(runtime.newMessage("from"), context, kind, argument(argName)), context);
+                blockArgs.addAll(IokeList.getList(Interpreter.send(runtime.newMessage("argNames"), context, destructor)));
+            } else {
+                blockArgs.add(argName);
+            }
+            blockArgs.add(code);
+
+            IokeObject block = runtime.newLexicalBlock(null, runtime.lexicalBlock, new LexicalBlock(context, DefaultArgumentsDefinition.createFrom(blockArgs, 0, blockArgs.size() - 1, message, on, context), code));
+            if(destructor != null) {
+                return new Destructuring(block, destructor, context, runtime.newMessage("unpack"));
+            }
+            if(argName.getArgumentCount() > 0 || Message.next(argName) != null || name.startsWith("+") || name.endsWith(":")) {
+                name = null;
+            }
+            return new Block(block, context, code, name);
+        }
+    }
+
+    private static boolean hasOriginalEach(Object on, IokeObject kind) {
+        return IokeObject.findCell((IokeObject)on, "each") == IokeObject.findCell(kind, "each");
+    }
+
+    /**
+     * Returns the unboxed numbers of a list that uses the builtin each,
+     * or null if on isn't such a list.
+     */
+    private static NumberList numbers(Object on, Runtime runtime) {
+        if((IokeObject.data(on) instanceof IokeList) && hasOriginalEach(on, runtime.list)) {
+            List<Object> list = IokeList.peekList(on);
+            if(list instanceof NumberList) {
+                return (NumberList)list;
+            }
+        }
+        return null;
+    }
+
+    private static void traverse(IokeObject context, IokeObject message, Object on, final Transform transform, final Step step) throws ControlFlow {
+        final Runtime runtime = context.runtime;
+        Object data = IokeObject.data(on);
+
+        if(data instanceof IokeList && hasOriginalEach(on, runtime.list)) {
+            for(Object o : IokeList.getList(on)) {
+                if(!step.next(o, transform.apply(o))) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        if(data instanceof IokeSet && hasOriginalEach(on, runtime.set)) {
+            for(Object o : ((IokeSet)data).getSet()) {
+                if(!step.next(o, transform.apply(o))) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        if(data instanceof Dict && hasOriginalEach(on, runtime.dict)) {
+            for(Map.Entry<Object, Object> e : Dict.getMap(on).entrySet()) {
+                Object o = runtime.newPair(e.getKey(), e.getValue());
+                if(!step.next(o, transform.apply(o))) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        if(data instanceof Range && hasOriginalEach(on, runtime.range)) {
+            Range.traverse(on, context, new Range.Visitor() {
+                    public boolean visit(Object o) throws ControlFlow {
+                        return step.next(o, transform.apply(o));
+                    }
+                });
+            return;
+        }
+
+        // anything else gets sent each(n, enumerable:step), with a
+        // native behind enumerable:step that is visible only from the
+        // context the message is sent from
+        final IokeObject ctx = runtime.newLexicalContext(context, "Lexical activation context for Enumerable traversal", context);
+        ctx.setCell(STEP, runtime.newNativeMethod("takes the next element of an Enumerable traversal", new NativeMethod.WithNoArguments(STEP) {
+                @Override
+                public Object activate(IokeObject self, IokeObject context, IokeObject message, Object on) throws ControlFlow {
+                    Object element = IokeObject.findCell(context, "n");
+                    if(!step.next(element, transform.apply(element))) {
+                        throw new ControlFlow.Return(runtime.nil, ctx);
+                    }
+                    return runtime.nil;
+                }
+            }));
+
+        // the message looks like it was sent from where message was, so
+        // errors inside each are reported there
+        IokeObject each = runtime.newMessage("each");
+        IokeObject n = runtime.newMessage("n");
+        IokeObject stepMessage = runtime.newMessage(STEP);
+        Message.copySourceLocation(message, each);
+        Message.copySourceLocation(message, n);
+        Message.copySourceLocation(message, stepMessage);
+        Message.addArg(each, n);
+        Message.addArg(each, stepMessage);
+        try {
+            Interpreter.send(each, ctx, on);
+        } catch(ControlFlow.Return e) {
+            if(e.context != ctx) {
+                throw e;
+            }
+        }
+    }
+
+    private static void addToDict(Runtime runtime, Map<Object, Object> dict, Object value) {
+        if(IokeObject.data(value) instanceof Pair) {
+            dict.put(Pair.getFirst(value), Pair.getSecond(value));
+        } else {
+            dict.put(value, runtime.nil);
+        }
+    }
+
+    public static void init(final IokeObject enumerable) throws ControlFlow {
+        final Runtime runtime = enumerable.runtime;
         enumerable.setKind("Mixins Enumerable");
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be evaluated as a message chain on each element in the enumerable, and then the result will be collected in a new List. if two arguments are given, the first one should be an unevaluated argument name, which will be bound inside the scope of executing the second piece of code. it's important to notice that the one argument form will establish no context, while the two argument form establishes a new lexical closure.", new Traversal("map", 1) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final List<Object> result = new NumberList();
+
+                        boolean next(Object element, Object value) {
+                            result.add(value);
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newList(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be evaluated as a message chain on each element in the enumerable, and then the result will be collected in a new Set. if two arguments are given, the first one should be an unevaluated argument name, which will be bound inside the scope of executing the second piece of code. it's important to notice that the one argument form will establish no context, while the two argument form establishes a new lexical closure.", new Traversal("map:set", 1) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final IokeObject result = runtime.newSet(Collections.<Object>emptyList());
+                        final Set<Object> set = ((IokeSet)IokeObject.data(result)).getSet();
+
+                        boolean next(Object element, Object value) {
+                            set.add(value);
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be evaluated as a message chain on each element in the enumerable, and then the result will be collected in a new Dict. if the message chain returns a pair, that pair will be used as key and value. if it's something else, that value will be the key, and the value for it will be nil. if two arguments are given, the first one should be an unevaluated argument name, which will be bound inside the scope of executing the second piece of code. it's important to notice that the one argument form will establish no context, while the two argument form establishes a new lexical closure.", new Traversal("map:dict", 1) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final Map<Object, Object> result = new OpenHashMap<Object, Object>();
+
+                        boolean next(Object element, Object value) {
+                            addToDict(runtime, result, value);
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newDict(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns true if any of the elements yielded by each is true, otherwise false. if one argument, expects it to be a message chain. if that message chain, when applied to the current element returns a true value, the method returns true. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns true for any element, this method returns true, otherwise false.", new Traversal("any?", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime._false;
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                result = runtime._true;
+                                return false;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns false if any of the elements yielded by each is true, otherwise true. if one argument, expects it to be a message chain. if that message chain, when applied to the current element returns a true value, the method returns false. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns true for any element, this method returns false, otherwise true.", new Traversal("none?", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime._true;
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                result = runtime._false;
+                                return false;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns the first element that is true, otherwise false. if one argument, expects it to be a message chain. if that message chain, when applied to the current element returns a true value, that value is return. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns true for any element, that value will be returned, otherwise false.", new Traversal("some", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime._false;
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                result = value;
+                                return false;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns the first element that is true, otherwise nil. if one argument, expects it to be a message chain. if that message chain, when applied to the current element returns a true value, the corresponding element is returned. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns true for any element, the element will be retuend, otherwise nil.", new Traversal("find", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime.nil;
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                result = element;
+                                return false;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, will return a list with all the values that are true in the original collection. if one argument is given, it will be applied as a message chain, that should be a predicate. those elements that match the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose elements.", new Traversal("select", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final List<Object> result = new NumberList();
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                result.add(element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newList(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, will return a dict with all the values that are true in the original collection. if one argument is given, it will be applied as a message chain, that should be a predicate. those elements that match the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose elements.", new Traversal("select:dict", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final Map<Object, Object> result = new OpenHashMap<Object, Object>();
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                addToDict(runtime, result, element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newDict(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, will return a set with all the values that are true in the original collection. if one argument is given, it will be applied as a message chain, that should be a predicate. those elements that match the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose elements.", new Traversal("select:set", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final IokeObject result = runtime.newSet(Collections.<Object>emptyList());
+                        final Set<Object> set = ((IokeSet)IokeObject.data(result)).getSet();
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                set.add(element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns false if any of the elements yielded by each is false, otherwise true. if one argument, expects it to be a message chain. if that message chain, when applied to the current element returns a false value, the method returns false. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns false for any element, this method returns false, otherwise true.", new Traversal("all?", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime._true;
+
+                        boolean next(Object element, Object value) {
+                            if(!IokeObject.isTrue(value)) {
+                                result = runtime._false;
+                                return false;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns true if exactly one of the elements is true, otherwise false. if one argument, expects it to be a message chain that will be used as a predicate. if that predicate returns true for exactly one element, returns true, otherwise false. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and tested against the values in this element. if it returns true for exactly one element, returns true, otherwise false", new Traversal("one?", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        Object result = runtime._false;
+
+                        boolean next(Object element, Object value) {
+                            if(IokeObject.isTrue(value)) {
+                                if(result == runtime._true) {
+                                    result = runtime._false;
+                                    return false;
+                                }
+                                result = runtime._true;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns the number of elements in the collection. if one argument, expects it to be a message chain. if that message chain, that will be used as a predicate. returns the number of elements where the predicate returns true. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and used as a predicate, and the result will be the number of elements matching the predicate.", new Traversal("count", 0) {
+                Step start(IokeObject context, IokeObject message) throws ControlFlow {
+                    final boolean all = message.getArgumentCount() == 0;
+                    return new Step() {
+                        int result = 0;
+
+                        boolean next(Object element, Object value) {
+                            if(all || IokeObject.isTrue(value)) {
+                                result++;
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newNumber(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be applied as a message chain as a predicate. those elements that doesn't the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose the elements that doesn't match.", new Traversal("reject", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final List<Object> result = new NumberList();
+
+                        boolean next(Object element, Object value) {
+                            if(!IokeObject.isTrue(value)) {
+                                result.add(element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newList(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be applied as a message chain as a predicate. those elements that doesn't the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose the elements that doesn't match.", new Traversal("reject:dict", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final Map<Object, Object> result = new OpenHashMap<Object, Object>();
+
+                        boolean next(Object element, Object value) {
+                            if(!IokeObject.isTrue(value)) {
+                                addToDict(runtime, result, element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return runtime.newDict(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments. if one argument is given, it will be applied as a message chain as a predicate. those elements that doesn't the predicate will be returned. if two arguments are given, they will be turned into a lexical block and used as a predicate to choose the elements that doesn't match.", new Traversal("reject:set", 0) {
+                Step start(IokeObject context, IokeObject message) {
+                    return new Step() {
+                        final IokeObject result = runtime.newSet(Collections.<Object>emptyList());
+                        final Set<Object> set = ((IokeSet)IokeObject.data(result)).getSet();
+
+                        boolean next(Object element, Object value) {
+                            if(!IokeObject.isTrue(value)) {
+                                set.add(element);
+                            }
+                            return true;
+                        }
+
+                        Object result() {
+                            return result;
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes one or two arguments that are used to transform the objects into something that can be sorted, then sorts based on that. if one argument, that argument is handled as a message chain, and if two arguments it will be turned into a lexical block and used.", new Traversal("sortBy", 1) {
+                Step start(final IokeObject context, final IokeObject message) {
+                    return new Step() {
+                        final List<Object> keyed = new ArrayList<Object>();
+
+                        boolean next(Object element, Object value) {
+                            List<Object> pair = new ArrayList<Object>(2);
+                            pair.add(value);
+                            pair.add(element);
+                            keyed.add(runtime.newList(pair));
+                            return true;
+                        }
+
+                        // sorts lists of the key and the element, just as
+                        // sorting the mapped list would
+                        Object result() throws ControlFlow {
+                            try {
+                                Collections.sort(keyed, new SpaceshipComparator(context, message));
+                            } catch(RuntimeException e) {
+                                if(e.getCause() instanceof ControlFlow) {
+                                    throw (ControlFlow)e.getCause();
+                                }
+                                throw e;
+                            }
+                            List<Object> result = new ArrayList<Object>(keyed.size());
+                            for(Object o : keyed) {
+                                result.add(IokeList.getList(o).get(1));
+                            }
+                            return runtime.newList(result);
+                        }
+                    };
+                }
+            }));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns the maximum elemnt ackording to the <=> ordering. if one argument, expects it to be a message chain. if that message chain, that will be used as a transform to create the element to compare with. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and used as the transformer for comparison. the result will always be an element from the collection, or nil if the collection is empty.", new Extreme("max", true)));
+
+        enumerable.registerMethod(runtime.newNativeMethod("takes zero, one or two arguments. if zero arguments, returns the minimum elemnt ackording to the <=> ordering. if one argument, expects it to be a message chain. if that message chain, that will be used as a transform to create the element to compare with. finally, if two arguments are given, the first argument is an unevaluated name and the second is a code element. these will together be turned into a lexical block and used as the transformer for comparison. the result will always be an element from the collection, or nil if the collection is empty.", new Extreme("min", false)));
+
+        enumerable.registerMethod(runtime.newNativeMethod("returns an object created by summing all objects in the enumerable using the + operator. the default value for an empty enumerable will be nil.", new NativeMethod.WithNoArguments("sum") {
+                @Override
+                public Object activate(IokeObject self, Object on, List<Object> args, Map<String, Object> keywords, IokeObject context, IokeObject message) throws ControlFlow {
+                    // a list of unboxed numbers is summed directly, unless
+                    // inject or + would do something else
+                    NumberList numbers = numbers(on, runtime);
+                    if(numbers != null && IokeObject.findCell((IokeObject)on, "inject") == IokeObject.findCell(enumerable, "inject")) {
+                        Object result = numbers.sumNumbers();
+                        if(result != null) {
+                            return result;
+                        }
+                    }
+
+                    // inject(+), sent from a context of its own since
+                    // inject keeps the elements in the calling context
+                    IokeObject ctx = runtime.newLexicalContext(context, "Lexical activation context for sum", context);
+                    IokeObject inject = runtime.newMessage("inject");
+                    IokeObject plus = runtime.newMessage("+");
+                    Message.copySourceLocation(message, inject);
+                    Message.copySourceLocation(message, plus);
+                    Message.addArg(inject, plus);
+                    return Interpreter.send(inject, ctx, on);
+                }
+            }));
     }
-}// Enumerable
+}// Enumerable
\ No newline at end of file
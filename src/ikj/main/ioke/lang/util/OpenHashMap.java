@@ -0,0 +1,426 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map using open addressing, used as the storage of Dict. The
+ * entries are kept in parallel key, value and hash arrays in insertion
+ * order, and a separate table of ints maps hash slots to entry
+ * positions. No objects are allocated per entry, and the hash of a key
+ * is calculated once when it is inserted - for Ioke objects that can
+ * mean sending hash, so it is never done again when the map grows.
+ *
+ * Iteration follows insertion order. Iterators fail fast like the ones
+ * of HashMap, and support remove.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class OpenHashMap<K, V> extends AbstractMap<K, V> {
+    // marks an entry that has been removed
+    private static final Object REMOVED = new Object();
+
+    // values in the index table besides 1 + the position of an entry
+    private static final int FREE = 0;
+    private static final int DELETED = -1;
+
+    private static final int MINIMUM_INDEX = 8;
+
+    private int[] index;
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+
+    // number of entry positions taken, including removed ones
+    private int used;
+    private int size;
+    private int modCount;
+
+    public OpenHashMap() {
+        allocate(MINIMUM_INDEX);
+    }
+
+    public OpenHashMap(int expectedSize) {
+        allocate(indexSizeFor(expectedSize));
+    }
+
+    public OpenHashMap(Map<? extends K, ? extends V> other) {
+        if(other instanceof OpenHashMap) {
+            OpenHashMap<?, ?> o = (OpenHashMap<?, ?>)other;
+            index = o.index.clone();
+            keys = o.keys.clone();
+            values = o.values.clone();
+            hashes = o.hashes.clone();
+            used = o.used;
+            size = o.size;
+        } else {
+            allocate(indexSizeFor(other.size()));
+            putAll(other);
+        }
+    }
+
+    private static int indexSizeFor(int entries) {
+        int n = MINIMUM_INDEX;
+        while(capacityFor(n) <= entries) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    // at most two thirds of the index table is ever taken
+    private static int capacityFor(int indexSize) {
+        return (indexSize / 3) * 2;
+    }
+
+    private void allocate(int indexSize) {
+        int capacity = capacityFor(indexSize);
+        index = new int[indexSize];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        used = 0;
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the slot in the index table that refers to the key, or -1
+     * if it isn't in the map.
+     */
+    private int slotOf(Object key, int h) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int i = h & mask;
+        while(true) {
+            int e = index[i];
+            if(e == FREE) {
+                return -1;
+            }
+            if(e != DELETED) {
+                e--;
+                if(hashes[e] == h) {
+                    Object k = keys[e];
+                    if(k == key || (key != null && key.equals(k))) {
+                        return i;
+                    }
+                }
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the slot in the index table that refers to the entry at
+     * the given position.
+     */
+    private int slotOfPosition(int position) {
+        int mask = index.length - 1;
+        int i = hashes[position] & mask;
+        while(index[i] != position + 1) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insert(int h, int position) {
+        int mask = index.length - 1;
+        int i = h & mask;
+        while(index[i] > FREE) {
+            i = (i + 1) & mask;
+        }
+        index[i] = position + 1;
+    }
+
+    /**
+     * Moves the live entries into fresh arrays sized for them, dropping
+     * removed entries and deleted slots. The stored hashes are reused.
+     */
+    private void rebuild() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+
+        allocate(indexSizeFor(size + 1));
+
+        int j = 0;
+        for(int i = 0; i < oldUsed; i++) {
+            if(oldKeys[i] != REMOVED) {
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+                hashes[j] = oldHashes[i];
+                insert(hashes[j], j);
+                j++;
+            }
+        }
+        used = j;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key, hash(key)) != -1;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for(int i = 0; i < used; i++) {
+            if(keys[i] != REMOVED) {
+                Object v = values[i];
+                if(v == value || (value != null && value.equals(v))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int slot = slotOf(key, hash(key));
+        return slot == -1 ? null : (V)values[index[slot] - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        int h = hash(key);
+        int slot = slotOf(key, h);
+        if(slot != -1) {
+            int e = index[slot] - 1;
+            V old = (V)values[e];
+            values[e] = value;
+            return old;
+        }
+
+        if(used == keys.length) {
+            rebuild();
+        }
+        keys[used] = key;
+        values[used] = value;
+        hashes[used] = h;
+        insert(h, used);
+        used++;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = slotOf(key, hash(key));
+        return slot == -1 ? null : removeSlot(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeSlot(int slot) {
+        int e = index[slot] - 1;
+        V old = (V)values[e];
+        index[slot] = DELETED;
+        keys[e] = REMOVED;
+        values[e] = null;
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        allocate(MINIMUM_INDEX);
+        size = 0;
+        modCount++;
+    }
+
+    private abstract class Cursor<T> implements Iterator<T> {
+        private int next = skipRemoved(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int skipRemoved(int position) {
+            while(position < used && keys[position] == REMOVED) {
+                position++;
+            }
+            return position;
+        }
+
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        public T next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = skipRemoved(next + 1);
+            return at(last);
+        }
+
+        public void remove() {
+            if(last == -1) {
+                throw new IllegalStateException();
+            }
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(slotOfPosition(last));
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        protected abstract T at(int position);
+    }
+
+    private class Entry implements Map.Entry<K, V> {
+        private final int position;
+
+        Entry(int position) {
+            this.position = position;
+        }
+
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return (K)keys[position];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V)values[position];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            V old = (V)values[position];
+            values[position] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>)other;
+            Object k = getKey();
+            Object v = getValue();
+            return (k == null ? e.getKey() == null : k.equals(e.getKey())) &&
+                (v == null ? e.getValue() == null : v.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object k = getKey();
+            Object v = getValue();
+            return (k == null ? 0 : k.hashCode()) ^ (v == null ? 0 : v.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Cursor<Map.Entry<K, V>>() {
+                    protected Map.Entry<K, V> at(int position) {
+                        return new Entry(position);
+                    }
+                };
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public void clear() {
+                OpenHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            public Iterator<K> iterator() {
+                return new Cursor<K>() {
+                    @SuppressWarnings("unchecked")
+                    protected K at(int position) {
+                        return (K)keys[position];
+                    }
+                };
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            public boolean remove(Object key) {
+                int slot = slotOf(key, hash(key));
+                if(slot == -1) {
+                    return false;
+                }
+                removeSlot(slot);
+                return true;
+            }
+
+            public void clear() {
+                OpenHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            public Iterator<V> iterator() {
+                return new Cursor<V>() {
+                    @SuppressWarnings("unchecked")
+                    protected V at(int position) {
+                        return (V)values[position];
+                    }
+                };
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public void clear() {
+                OpenHashMap.this.clear();
+            }
+        };
+    }
+}// OpenHashMap
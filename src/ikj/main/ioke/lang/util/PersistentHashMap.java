@@ -0,0 +1,497 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map stored as a hash array mapped trie, so that copies can
+ * share structure. Copying a PersistentHashMap takes constant time, and
+ * after that putting or removing a key in one of the copies only copies
+ * the nodes on the path to that key, which is O(log32 n). The hash of
+ * every key is stored next to it, so it is never calculated again.
+ *
+ * Nodes are owned through edit tokens the same way as in
+ * PersistentVector: a map changes its own nodes in place, and copying
+ * gives both maps new tokens.
+ *
+ * Iterators fail fast like the ones of HashMap, and support remove. The
+ * map doesn't keep an order - PersistentLinkedHashMap is built on top of
+ * it for that.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final Object NULL_KEY = new Object();
+    private static final Object NOT_FOUND = new Object();
+
+    // the results of put and remove that don't fit in the returned node
+    private static final class Change {
+        boolean changedSize;
+        Object old;
+    }
+
+    /**
+     * The token a map owns its nodes through. Copying the map disowns
+     * the token, so that a put or remove that is still running when the
+     * map is copied - because sending hash or == to a key can copy it -
+     * copies the nodes it changes from then on.
+     */
+    private static final class Edit {
+        boolean owned = true;
+    }
+
+    private abstract static class Node {
+        Edit edit;
+
+        boolean ownedBy(Edit edit) {
+            return this.edit == edit && edit.owned;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+        abstract Node put(Edit edit, int shift, int hash, Object key, Object value, Change change);
+        abstract Node remove(Edit edit, int shift, int hash, Object key, Change change);
+        // entries are kept as key, value pairs - a null key means that the
+        // value is a subnode
+        abstract Object[] entries();
+    }
+
+    private static boolean same(Object key, Object other) {
+        return key == other || key.equals(other);
+    }
+
+    private static final class BitmapNode extends Node {
+        int bitmap;
+        Object[] array;
+        int[] hashes;
+
+        BitmapNode(Edit edit, int bitmap, Object[] array, int[] hashes) {
+            this.edit = edit;
+            this.bitmap = bitmap;
+            this.array = array;
+            this.hashes = hashes;
+        }
+
+        private BitmapNode editable(Edit edit) {
+            if(ownedBy(edit)) {
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array.clone(), hashes.clone());
+        }
+
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[2*i];
+            if(k == null) {
+                return ((Node)array[2*i + 1]).find(shift + 5, hash, key);
+            }
+            if(hashes[i] == hash && same(key, k)) {
+                return array[2*i + 1];
+            }
+            return NOT_FOUND;
+        }
+
+        Node put(Edit edit, int shift, int hash, Object key, Object value, Change change) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int i = Integer.bitCount(bitmap & (bit - 1));
+            if((bitmap & bit) != 0) {
+                Object k = array[2*i];
+                Object v = array[2*i + 1];
+                if(k == null) {
+                    Node n = ((Node)v).put(edit, shift + 5, hash, key, value, change);
+                    if(n == v) {
+                        return this;
+                    }
+                    BitmapNode result = editable(edit);
+                    result.array[2*i + 1] = n;
+                    return result;
+                }
+                if(hashes[i] == hash && same(key, k)) {
+                    change.old = v;
+                    if(v == value) {
+                        return this;
+                    }
+                    BitmapNode result = editable(edit);
+                    result.array[2*i + 1] = value;
+                    return result;
+                }
+                change.changedSize = true;
+                Node sub = createNode(edit, shift + 5, k, v, hashes[i], key, value, hash);
+                BitmapNode result = editable(edit);
+                result.array[2*i] = null;
+                result.array[2*i + 1] = sub;
+                result.hashes[i] = 0;
+                return result;
+            }
+
+            change.changedSize = true;
+            int n = Integer.bitCount(bitmap);
+            Object[] newArray = new Object[2*(n + 1)];
+            int[] newHashes = new int[n + 1];
+            System.arraycopy(array, 0, newArray, 0, 2*i);
+            System.arraycopy(hashes, 0, newHashes, 0, i);
+            newArray[2*i] = key;
+            newArray[2*i + 1] = value;
+            newHashes[i] = hash;
+            System.arraycopy(array, 2*i, newArray, 2*(i + 1), 2*(n - i));
+            System.arraycopy(hashes, i, newHashes, i + 1, n - i);
+            if(ownedBy(edit)) {
+                bitmap |= bit;
+                array = newArray;
+                hashes = newHashes;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray, newHashes);
+        }
+
+        Node remove(Edit edit, int shift, int hash, Object key, Change change) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[2*i];
+            Object v = array[2*i + 1];
+            if(k == null) {
+                Node n = ((Node)v).remove(edit, shift + 5, hash, key, change);
+                if(n == v) {
+                    return this;
+                }
+                if(n != null) {
+                    BitmapNode result = editable(edit);
+                    result.array[2*i + 1] = n;
+                    return result;
+                }
+            } else if(hashes[i] == hash && same(key, k)) {
+                change.changedSize = true;
+                change.old = v;
+            } else {
+                return this;
+            }
+
+            if(bitmap == bit) {
+                return null;
+            }
+            int n = Integer.bitCount(bitmap);
+            Object[] newArray = new Object[2*(n - 1)];
+            int[] newHashes = new int[n - 1];
+            System.arraycopy(array, 0, newArray, 0, 2*i);
+            System.arraycopy(hashes, 0, newHashes, 0, i);
+            System.arraycopy(array, 2*(i + 1), newArray, 2*i, 2*(n - i - 1));
+            System.arraycopy(hashes, i + 1, newHashes, i, n - i - 1);
+            if(ownedBy(edit)) {
+                bitmap ^= bit;
+                array = newArray;
+                hashes = newHashes;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, newArray, newHashes);
+        }
+
+        Object[] entries() {
+            return array;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+        Object[] array;
+
+        CollisionNode(Edit edit, int hash, Object[] array) {
+            this.edit = edit;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for(int i = 0; i < array.length; i += 2) {
+                if(same(key, array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Object find(int shift, int hash, Object key) {
+            if(hash == this.hash) {
+                int i = indexOf(key);
+                if(i != -1) {
+                    return array[i + 1];
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        Node put(Edit edit, int shift, int hash, Object key, Object value, Change change) {
+            if(hash != this.hash) {
+                BitmapNode parent = new BitmapNode(edit, 1 << ((this.hash >>> shift) & 31), new Object[] {null, this}, new int[1]);
+                return parent.put(edit, shift, hash, key, value, change);
+            }
+            int i = indexOf(key);
+            Object[] newArray;
+            if(i != -1) {
+                change.old = array[i + 1];
+                if(array[i + 1] == value) {
+                    return this;
+                }
+                newArray = ownedBy(edit) ? array : array.clone();
+                newArray[i + 1] = value;
+            } else {
+                change.changedSize = true;
+                newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, array.length);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+            }
+            if(ownedBy(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        Node remove(Edit edit, int shift, int hash, Object key, Change change) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if(i == -1) {
+                return this;
+            }
+            change.changedSize = true;
+            change.old = array[i + 1];
+            if(array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            if(ownedBy(edit)) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        Object[] entries() {
+            return array;
+        }
+    }
+
+    private static Node createNode(Edit edit, int shift, Object key1, Object value1, int hash1, Object key2, Object value2, int hash2) {
+        if(hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[] {key1, value1, key2, value2});
+        }
+        Change ignored = new Change();
+        return new BitmapNode(edit, 0, new Object[0], new int[0])
+            .put(edit, shift, hash1, key1, value1, ignored)
+            .put(edit, shift, hash2, key2, value2, ignored);
+    }
+
+    private Edit edit = new Edit();
+    private Node root;
+    private int size;
+    private int modCount;
+
+    public PersistentHashMap() {
+    }
+
+    public PersistentHashMap(Map<? extends K, ? extends V> other) {
+        if(other instanceof PersistentHashMap) {
+            PersistentHashMap<?, ?> o = (PersistentHashMap<?, ?>)other;
+            o.edit.owned = false;
+            o.edit = new Edit();
+            root = o.root;
+            size = o.size;
+        } else {
+            putAll(other);
+        }
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static int hash(Object key) {
+        return key.hashCode();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Object find(Object key) {
+        if(root == null) {
+            return NOT_FOUND;
+        }
+        key = maskNull(key);
+        return root.find(0, hash(key), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : (V)value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        Change change = new Change();
+        Node start = root == null ? new BitmapNode(edit, 0, new Object[0], new int[0]) : root;
+        root = start.put(edit, 0, hash(k), k, value, change);
+        if(change.changedSize) {
+            size++;
+            modCount++;
+        }
+        return (V)change.old;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(Object key) {
+        if(root == null) {
+            return null;
+        }
+        Object k = maskNull(key);
+        Change change = new Change();
+        root = root.remove(edit, 0, hash(k), k, change);
+        if(change.changedSize) {
+            size--;
+            modCount++;
+        }
+        return (V)change.old;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private Object[][] stack = new Object[8][];
+        private int[] positions = new int[8];
+        private int depth = -1;
+        private Object nextKey = NOT_FOUND;
+        private Object nextValue;
+        private Object lastKey = NOT_FOUND;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            // the nodes are shared from now on, so removing through the
+            // iterator won't touch what it walks through
+            edit.owned = false;
+            edit = new Edit();
+            if(root != null) {
+                push(root);
+            }
+            advance();
+        }
+
+        private void push(Node node) {
+            depth++;
+            if(depth == stack.length) {
+                Object[][] newStack = new Object[depth * 2][];
+                System.arraycopy(stack, 0, newStack, 0, depth);
+                stack = newStack;
+                int[] newPositions = new int[depth * 2];
+                System.arraycopy(positions, 0, newPositions, 0, depth);
+                positions = newPositions;
+            }
+            stack[depth] = node.entries();
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            while(depth >= 0) {
+                Object[] entries = stack[depth];
+                int i = positions[depth];
+                if(i >= entries.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if(entries[i] == null) {
+                    push((Node)entries[i + 1]);
+                } else {
+                    nextKey = entries[i];
+                    nextValue = entries[i + 1];
+                    return;
+                }
+            }
+            nextKey = NOT_FOUND;
+        }
+
+        public boolean hasNext() {
+            return nextKey != NOT_FOUND;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(nextKey == NOT_FOUND) {
+                throw new NoSuchElementException();
+            }
+            final K key = (K)(nextKey == NULL_KEY ? null : nextKey);
+            final V value = (V)nextValue;
+            lastKey = nextKey;
+            advance();
+            return new AbstractMap.SimpleEntry<K, V>(key, value) {
+                @Override
+                public V setValue(V newValue) {
+                    super.setValue(newValue);
+                    return put(key, newValue);
+                }
+            };
+        }
+
+        public void remove() {
+            if(lastKey == NOT_FOUND) {
+                throw new IllegalStateException();
+            }
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            PersistentHashMap.this.remove(lastKey == NULL_KEY ? null : lastKey);
+            lastKey = NOT_FOUND;
+            expectedModCount = modCount;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public void clear() {
+                PersistentHashMap.this.clear();
+            }
+        };
+    }
+}// PersistentHashMap
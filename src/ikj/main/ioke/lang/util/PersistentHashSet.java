@@ -0,0 +1,65 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A set backed by a PersistentHashMap, so that copying it takes constant
+ * time and the copies share structure.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class PersistentHashSet<E> extends AbstractSet<E> {
+    private final PersistentHashMap<E, Boolean> map;
+
+    public PersistentHashSet() {
+        map = new PersistentHashMap<E, Boolean>();
+    }
+
+    public PersistentHashSet(Collection<? extends E> elements) {
+        if(elements instanceof PersistentHashSet) {
+            map = new PersistentHashMap<E, Boolean>(((PersistentHashSet<? extends E>)elements).map);
+        } else {
+            map = new PersistentHashMap<E, Boolean>();
+            addAll(elements);
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return map.containsKey(element);
+    }
+
+    @Override
+    public boolean add(E element) {
+        int before = map.size();
+        map.put(element, Boolean.TRUE);
+        return map.size() != before;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        int before = map.size();
+        map.remove(element);
+        return map.size() != before;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+}// PersistentHashSet
@@ -0,0 +1,214 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map that iterates in insertion order, the same way
+ * OpenHashMap does, and that can be copied in constant time. The keys
+ * and values are kept in insertion order in two PersistentVectors, and
+ * a PersistentHashMap maps every key to its position in them, so
+ * copying the map copies those three, and the copies share their
+ * structure.
+ *
+ * Removal leaves a marker at the position of the entry, so it doesn't
+ * move the entries after it. The markers are dropped by rebuilding the
+ * map when a new key is put in and they take up more room than the
+ * entries do.
+ *
+ * Iterators fail fast like the ones of HashMap, and support remove.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class PersistentLinkedHashMap<K, V> extends AbstractMap<K, V> {
+    // marks an entry that has been removed
+    private static final Object REMOVED = new Object();
+
+    private static final int MINIMUM_REMOVED = 32;
+
+    private PersistentHashMap<Object, Integer> positions;
+    private PersistentVector<Object> keys;
+    private PersistentVector<Object> values;
+    private int size;
+    private int modCount;
+
+    public PersistentLinkedHashMap() {
+        reset();
+    }
+
+    public PersistentLinkedHashMap(Map<? extends K, ? extends V> other) {
+        if(other instanceof PersistentLinkedHashMap) {
+            PersistentLinkedHashMap<?, ?> o = (PersistentLinkedHashMap<?, ?>)other;
+            positions = new PersistentHashMap<Object, Integer>(o.positions);
+            keys = new PersistentVector<Object>(o.keys);
+            values = new PersistentVector<Object>(o.values);
+            size = o.size;
+        } else {
+            reset();
+            putAll(other);
+        }
+    }
+
+    private void reset() {
+        positions = new PersistentHashMap<Object, Integer>();
+        keys = new PersistentVector<Object>();
+        values = new PersistentVector<Object>();
+        size = 0;
+    }
+
+    /**
+     * Moves the live entries into new storage, dropping the removed
+     * ones.
+     */
+    private void rebuild() {
+        PersistentVector<Object> oldKeys = keys;
+        PersistentVector<Object> oldValues = values;
+        reset();
+        int used = oldKeys.size();
+        for(int i = 0; i < used; i++) {
+            Object key = oldKeys.get(i);
+            if(key != REMOVED) {
+                append(key, oldValues.get(i));
+            }
+        }
+    }
+
+    private void append(Object key, Object value) {
+        positions.put(key, keys.size());
+        keys.add(key);
+        values.add(value);
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeAt(int position) {
+        positions.remove(keys.get(position));
+        V old = (V)values.get(position);
+        keys.set(position, REMOVED);
+        values.set(position, null);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return positions.containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        Integer position = positions.get(key);
+        return position == null ? null : (V)values.get(position);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        Integer position = positions.get(key);
+        if(position != null) {
+            return (V)values.set(position, value);
+        }
+
+        int removed = keys.size() - size;
+        if(removed > MINIMUM_REMOVED && removed > size) {
+            rebuild();
+        }
+        append(key, value);
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Integer position = positions.get(key);
+        return position == null ? null : removeAt(position);
+    }
+
+    @Override
+    public void clear() {
+        reset();
+        modCount++;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int next = skipRemoved(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int skipRemoved(int position) {
+            int used = keys.size();
+            while(position < used && keys.get(position) == REMOVED) {
+                position++;
+            }
+            return position;
+        }
+
+        public boolean hasNext() {
+            return next < keys.size();
+        }
+
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(next >= keys.size()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = skipRemoved(next + 1);
+            final K key = (K)keys.get(last);
+            return new AbstractMap.SimpleEntry<K, V>(key, (V)values.get(last)) {
+                @Override
+                public V setValue(V newValue) {
+                    super.setValue(newValue);
+                    return put(key, newValue);
+                }
+            };
+        }
+
+        public void remove() {
+            if(last == -1) {
+                throw new IllegalStateException();
+            }
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public void clear() {
+                PersistentLinkedHashMap.this.clear();
+            }
+        };
+    }
+}// PersistentLinkedHashMap
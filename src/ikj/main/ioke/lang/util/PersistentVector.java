@@ -0,0 +1,301 @@
+/*
+ * See LICENSE file in distribution for copyright and licensing information.
+ */
+package ioke.lang.util;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list stored as a trie of 32 element arrays with a separate tail
+ * array, so that copies can share structure. Copying a PersistentVector
+ * takes constant time. After that both lists keep working as ordinary
+ * mutable lists, but appending to or updating one of them copies only the
+ * path from the root to the changed element, which is O(log32 n).
+ *
+ * Every list has an edit token, and nodes created under the current
+ * token belong to the list alone and are changed in place - which is
+ * what makes building a list by appending as cheap as with an ArrayList.
+ * Copying gives both lists new tokens, so neither of them touches the
+ * nodes they now share.
+ *
+ * Appending, removing the last element and setting elements are
+ * structural operations. Inserting or removing anywhere else rebuilds
+ * the list, which is why IokeList moves over to an ArrayList before
+ * doing that.
+ *
+ * @author <a href="mailto:ola.bini@gmail.com">Ola Bini</a>
+ */
+public class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final class Node {
+        final Object edit;
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[32]);
+
+    private Object edit = new Object();
+    private int count;
+    private int shift;
+    private Node root;
+    private Object[] tail;
+    // false when the tail array might be shared with a copy
+    private boolean tailOwned;
+
+    public PersistentVector() {
+        reset();
+    }
+
+    public PersistentVector(Collection<? extends E> elements) {
+        if(elements instanceof PersistentVector) {
+            PersistentVector<?> other = (PersistentVector<?>)elements;
+            other.edit = new Object();
+            other.tailOwned = false;
+            count = other.count;
+            shift = other.shift;
+            root = other.root;
+            tail = other.tail;
+            tailOwned = false;
+        } else {
+            reset();
+            for(E e : elements) {
+                add(e);
+            }
+        }
+    }
+
+    private void reset() {
+        count = 0;
+        shift = 5;
+        root = EMPTY_NODE;
+        tail = new Object[32];
+        tailOwned = true;
+    }
+
+    private int tailOffset() {
+        if(count < 32) {
+            return 0;
+        }
+        return ((count - 1) >>> 5) << 5;
+    }
+
+    private Object[] arrayFor(int i) {
+        if(i >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for(int level = shift; level > 0; level -= 5) {
+            node = (Node)node.array[(i >>> level) & 31];
+        }
+        return node.array;
+    }
+
+    private Node editable(Node node) {
+        if(node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    private void ensureTailOwned() {
+        if(!tailOwned) {
+            tail = tail.clone();
+            tailOwned = true;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return (E)arrayFor(index)[index & 31];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        if(index >= tailOffset()) {
+            ensureTailOwned();
+            Object old = tail[index & 31];
+            tail[index & 31] = element;
+            return (E)old;
+        }
+        Object old = arrayFor(index)[index & 31];
+        root = doSet(shift, root, index, element);
+        return (E)old;
+    }
+
+    private Node doSet(int level, Node node, int index, Object element) {
+        Node result = editable(node);
+        if(level == 0) {
+            result.array[index & 31] = element;
+        } else {
+            int sub = (index >>> level) & 31;
+            result.array[sub] = doSet(level - 5, (Node)node.array[sub], index, element);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean add(E element) {
+        int inTail = count - tailOffset();
+        if(inTail < 32) {
+            ensureTailOwned();
+            tail[inTail] = element;
+        } else {
+            Node tailNode = new Node(tailOwned ? edit : null, tail);
+            if((count >>> 5) > (1 << shift)) {
+                Node newRoot = new Node(edit, new Object[32]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(shift, tailNode);
+                root = newRoot;
+                shift += 5;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            tail = new Object[32];
+            tail[0] = element;
+            tailOwned = true;
+        }
+        count++;
+        modCount++;
+        return true;
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        Node result = editable(parent);
+        int sub = ((count - 1) >>> level) & 31;
+        Node insert;
+        if(level == 5) {
+            insert = tailNode;
+        } else {
+            Node child = (Node)parent.array[sub];
+            insert = child != null ? pushTail(level - 5, child, tailNode) : newPath(level - 5, tailNode);
+        }
+        result.array[sub] = insert;
+        return result;
+    }
+
+    private Node newPath(int level, Node node) {
+        if(level == 0) {
+            return node;
+        }
+        Node result = new Node(edit, new Object[32]);
+        result.array[0] = newPath(level - 5, node);
+        return result;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if(index == count) {
+            add(element);
+            return;
+        }
+        if(index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        Object[] elements = toArray();
+        reset();
+        for(int i = 0; i < elements.length; i++) {
+            if(i == index) {
+                add(element);
+            }
+            addElement(elements[i]);
+        }
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addElement(Object element) {
+        add((E)element);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        Object old = arrayFor(index)[index & 31];
+        if(index == count - 1) {
+            removeLast();
+        } else {
+            Object[] elements = toArray();
+            reset();
+            for(int i = 0; i < elements.length; i++) {
+                if(i != index) {
+                    addElement(elements[i]);
+                }
+            }
+        }
+        modCount++;
+        return (E)old;
+    }
+
+    private void removeLast() {
+        if(count == 1) {
+            reset();
+            return;
+        }
+        if(count - tailOffset() > 1) {
+            ensureTailOwned();
+            tail[count - 1 - tailOffset()] = null;
+            count--;
+            return;
+        }
+
+        Object[] newTail = arrayFor(count - 2).clone();
+        Node newRoot = popTail(shift, root);
+        if(newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if(shift > 5 && newRoot.array[1] == null) {
+            newRoot = (Node)newRoot.array[0];
+            shift -= 5;
+        }
+        root = newRoot;
+        tail = newTail;
+        tailOwned = true;
+        count--;
+    }
+
+    private Node popTail(int level, Node node) {
+        int sub = ((count - 2) >>> level) & 31;
+        if(level > 5) {
+            Node child = popTail(level - 5, (Node)node.array[sub]);
+            if(child == null && sub == 0) {
+                return null;
+            }
+            Node result = editable(node);
+            result.array[sub] = child;
+            return result;
+        } else if(sub == 0) {
+            return null;
+        }
+        Node result = editable(node);
+        result.array[sub] = null;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        reset();
+        modCount++;
+    }
+}// PersistentVector